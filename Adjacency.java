@@ -0,0 +1,107 @@
+/**
+* Minerva Chen, Max Peterson
+* 10/19/2026
+* Adjacency
+*
+* Read-only storage for the out-edges of a graph whose vertices are
+* numbered 0 to V - 1. Each vertex's out-edges are kept in increasing
+* order of target.
+*/
+
+abstract class Adjacency {
+	/**
+	* @return the number of vertices, V
+	*/
+	abstract int numVertices();
+
+	/**
+	* @return the number of edges
+	*/
+	abstract long numEdges();
+
+	/**
+	* @param v a vertex number
+	* @return the number of out-edges of v
+	*/
+	abstract int degree(int v);
+
+	/**
+	* @param a the source vertex number
+	* @param b the destination vertex number
+	* @return the weight of the edge a -> b, or -1 if there is no such edge
+	*/
+	abstract int weight(int a, int b);
+
+	/**
+	* calls visitor once for each out-edge of v, in increasing order of target,
+	* without allocating
+	* @param v a vertex number
+	* @param visitor receives the target and weight of each out-edge
+	*/
+	abstract void forEachNeighbor(int v, NeighborVisitor visitor);
+
+	/**
+	* lowers costs[w] to cost + weight for each out-edge v -> w where that is
+	* cheaper, as one step of a shortest path search
+	* @param v a vertex number
+	* @param cost the cost of reaching v
+	* @param costs the cost of reaching each vertex so far
+	* @param improved filled with the targets whose costs were lowered, in
+	* 	increasing order; needs room for the degree of v
+	* @param cursor a cursor over this adjacency, for adjacencies without flat arrays
+	* @param kernel how to compare flat arrays of edges, if this has them
+	* @return how many targets were lowered
+	*/
+	int relax(int v, int cost, int[] costs, int[] improved, Cursor cursor, RelaxKernel kernel) {
+		int count = 0;
+		for (cursor.reset(v); cursor.next(); ) {
+			int target = cursor.target();
+			int newCost = cost + cursor.weight();
+			if (newCost < costs[target]) {
+				costs[target] = newCost;
+				improved[count++] = target;
+			}
+		}
+		return count;
+	}
+
+	/**
+	* @param name what to call the footprint
+	* @return the estimated bytes this adjacency retains, by component
+	*/
+	abstract Footprint footprint(String name);
+
+	/**
+	* @return a new cursor over this adjacency. A cursor can be reset to any
+	* 	vertex, so one cursor serves a whole traversal.
+	*/
+	abstract Cursor cursor();
+
+	/**
+	* Iterates the out-edges of one vertex at a time:
+	*	for (cursor.reset(v); cursor.next(); ) ... cursor.target() ... cursor.weight()
+	*/
+	abstract static class Cursor {
+		/**
+		* positions this cursor before the first out-edge of v
+		* @param v a vertex number
+		*/
+		abstract void reset(int v);
+
+		/**
+		* advances to the next out-edge
+		* @return false if there are no more out-edges
+		*/
+		abstract boolean next();
+
+		/**
+		* @return the destination of the current out-edge
+		*/
+		abstract int target();
+
+		/**
+		* @return the weight of the current out-edge
+		*/
+		abstract int weight();
+	}
+}
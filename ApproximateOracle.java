@@ -0,0 +1,411 @@
+import java.util.*;
+/**
+* Minerva Chen, Max Peterson
+* 10/19/2026
+* ApproximateOracle
+*
+* A Thorup-Zwick distance oracle: answers the cost between two vertices in
+* O(k) time from O(k V^(1 + 1/k)) space expected. The guarantee needs costs
+* to be the same both ways, so the oracle is built on the graph taken as
+* undirected, an edge either way joining two vertices by the cheaper of the
+* two, and its answers are between the undirected cost and 2k - 1 times it.
+* Since the undirected cost is at most the directed one, an answer is never
+* more than 2k - 1 times the directed cost, but it can be less than the
+* directed cost; pairs with no directed path are answered with -1.
+* Built by sampling nested sets V = A_0, A_1, ..., A_(k-1), each keeping the
+* last with probability V^(-1/k). Every vertex stores its nearest member of
+* each set (its pivots) and its bunch: the members w of A_i but not A_(i+1)
+* that are nearer to it than A_(i+1) is, with the cost to each. A query climbs
+* the levels from one end and then the other until a pivot of one is in the
+* bunch of the other, which must happen by level k - 1, since A_k is empty.
+* Immutable once built, so safe to share between threads.
+*/
+
+public class ApproximateOracle {
+	private static final int TARGETS_PER_SOURCE = 16; // pairs sampled per exact search
+	private final MyGraph graph;
+	private final ConnectivityIndex connectivity;
+	private final int k;
+	private final int[][] pivot; // pivot[i][v]: id of the member of A_i nearest v, or -1
+	private final int[][] pivotCost; // cost from v to pivot[i][v], Integer.MAX_VALUE if none
+	private final long[] bunchKeys; // v * V + w for each w in the bunch of v, or -1 if empty
+	private final int[] bunchCosts; // cost between v and w, parallel to bunchKeys
+	private final int bunchSize;
+
+	/**
+	* Builds the oracle with a random sample that differs from run to run.
+	* @param graph the graph to answer costs in
+	* @param k the stretch is 2k - 1; 1 is exact, but takes V^2 space
+	* @throws IllegalArgumentException if graph is null or k is not positive
+	*/
+	public ApproximateOracle(MyGraph graph, int k) {
+		this(graph, k, new Random().nextLong());
+	}
+
+	/**
+	* Builds the oracle. Takes about k V^(1/k) single-source searches, each
+	* limited to the vertices in one cluster.
+	* @param graph the graph to answer costs in
+	* @param k the stretch is 2k - 1; 1 is exact, but takes V^2 space
+	* @param seed seeds the sampling, so that the same seed builds the same oracle
+	* @throws IllegalArgumentException if graph is null or k is not positive
+	*/
+	public ApproximateOracle(MyGraph graph, int k, long seed) {
+		if (graph == null)
+			throw new IllegalArgumentException("graph must not be null");
+		if (k < 1)
+			throw new IllegalArgumentException("k must be positive, not " + k);
+		this.graph = graph;
+		this.k = k;
+		connectivity = graph.connectivity();
+		Adjacency adjacency = ArrayAdjacency.symmetric(graph.adjacency(), graph.reverseAdjacency());
+		int n = adjacency.numVertices();
+		int[] level = sample(n, k, new Random(seed));
+		pivot = new int[k][n];
+		pivotCost = new int[k][n];
+		for (int i = 0; i < k; i++)
+			nearest(adjacency, level, i, pivot[i], pivotCost[i]);
+		Bunches bunches = new Bunches(n);
+		ClusterSearch search = new ClusterSearch(n);
+		for (int w = 0; w < n; w++) // w is in A_level[w] but not the next
+			search.run(adjacency, w, level[w] + 1 < k ? pivotCost[level[w] + 1] : null, bunches);
+		bunchSize = bunches.size;
+		int capacity = Integer.highestOneBit(Math.max(1, 2 * bunchSize - 1)) * 2; // at most half full
+		bunchKeys = new long[capacity];
+		bunchCosts = new int[capacity];
+		Arrays.fill(bunchKeys, -1);
+		for (int i = 0; i < bunchSize; i++) {
+			int slot = slot(bunches.keys[i]);
+			while (bunchKeys[slot] != -1)
+				slot = (slot + 1) & (capacity - 1);
+			bunchKeys[slot] = bunches.keys[i];
+			bunchCosts[slot] = bunches.costs[i];
+		}
+	}
+
+	/**
+	* @return the k this oracle was built with
+	*/
+	public int getK() {
+		return k;
+	}
+
+	/**
+	* @return the most an answer can be off by, as a multiple of the true cost
+	*/
+	public int getStretch() {
+		return 2 * k - 1;
+	}
+
+	/**
+	* @return the average number of vertices in a bunch
+	*/
+	public double averageBunchSize() {
+		int n = pivot[0].length;
+		return n == 0 ? 0 : (double) bunchSize / n;
+	}
+
+	/**
+	* Returns a cost at least that of the cheapest path between a and b taking
+	* edges either way, and at most getStretch() times it. That is at most
+	* getStretch() times the cost of the shortest path from a to b, but may
+	* be less than it.
+	* @param a the starting vertex
+	* @param b the destination vertex
+	* @return the approximate cost, or -1 if there is no path from a to b
+	* @throws NoSuchElementException if a or b does not exist.
+	*/
+	public int approxDistance(Vertex a, Vertex b) {
+		int u = graph.getId(a);
+		int v = graph.getId(b);
+		if (!connectivity.canReach(u, v))
+			return -1;
+		int w = u;
+		int toU = 0;
+		for (int i = 0; ; ) {
+			int toV = bunchCost(v, w);
+			if (toV != -1)
+				return toU + toV;
+			if (++i == k)
+				return -1; // cannot happen: the last pivot is in every bunch it reaches
+			int swap = u;
+			u = v;
+			v = swap;
+			w = pivot[i][u];
+			toU = pivotCost[i][u];
+		}
+	}
+
+	/**
+	* Compares approxDistance with exact undirected costs, which its stretch
+	* bounds, on random pairs of vertices with a path from one to the other.
+	* @param pairs how many pairs to compare; fewer if few pairs are joined
+	* @param seed seeds the choice of pairs
+	* @return approxDistance over the exact cost of each pair compared, in
+	* 	increasing order; 1 where both are 0
+	*/
+	public double[] sampleStretch(int pairs, long seed) {
+		Adjacency adjacency = ArrayAdjacency.symmetric(graph.adjacency(), graph.reverseAdjacency());
+		int n = adjacency.numVertices();
+		Random random = new Random(seed);
+		double[] stretches = new double[pairs];
+		int found = 0;
+		int[] costs = new int[n];
+		int[] prev = new int[n];
+		for (int tried = 0; n > 0 && tried < pairs && found < pairs; tried++) {
+			int start = random.nextInt(n);
+			graph.dijkstra(adjacency, start, -1, costs, prev, PQStrategy.DHEAP);
+			for (int t = 0; t < TARGETS_PER_SOURCE && found < pairs; t++) {
+				int end = random.nextInt(n);
+				if (!connectivity.canReach(start, end))
+					continue;
+				int approx = approxDistance(graph.getVertex(start), graph.getVertex(end));
+				stretches[found++] = costs[end] == 0 ? (approx == 0 ? 1 : Double.POSITIVE_INFINITY)
+						: (double) approx / costs[end];
+			}
+		}
+		stretches = Arrays.copyOf(stretches, found);
+		Arrays.sort(stretches);
+		return stretches;
+	}
+
+	/**
+	* Estimates the heap this oracle retains, not counting the graph.
+	* @return the estimated bytes, by component
+	*/
+	public Footprint footprint() {
+		int n = pivot[0].length;
+		return new Footprint("approximate oracle")
+				.add("pivots", 2 * (Footprint.array(k, Footprint.REFERENCE) + k * Footprint.array(n, 4)))
+				.add("bunches", Footprint.array(bunchKeys.length, 8) + Footprint.array(bunchCosts.length, 4));
+	}
+
+	/**
+	* @return the cost between v and w if w is in the bunch of v, or -1
+	*/
+	private int bunchCost(int v, int w) {
+		long key = (long) v * pivot[0].length + w;
+		for (int slot = slot(key); ; slot = (slot + 1) & (bunchKeys.length - 1)) {
+			if (bunchKeys[slot] == key)
+				return bunchCosts[slot];
+			if (bunchKeys[slot] == -1)
+				return -1;
+		}
+	}
+
+	/**
+	* @return where to start looking for key in bunchKeys
+	*/
+	private int slot(long key) {
+		long h = key * 0x9E3779B97F4A7C15L;
+		return (int) (h ^ (h >>> 32)) & (bunchKeys.length - 1);
+	}
+
+	/**
+	* Samples the sets A_1 to A_(k-1), never leaving one empty.
+	* @return level[v]: the greatest i with v in A_i
+	*/
+	private static int[] sample(int n, int k, Random random) {
+		int[] level = new int[n];
+		double keep = Math.pow(n, -1.0 / k);
+		int[] members = new int[n];
+		for (int v = 0; v < n; v++)
+			members[v] = v;
+		int numMembers = n;
+		for (int i = 1; i < k && numMembers > 0; i++) {
+			int kept = 0;
+			for (int j = 0; j < numMembers; j++)
+				if (random.nextDouble() < keep)
+					members[kept++] = members[j];
+			if (kept == 0)
+				members[kept++] = members[random.nextInt(numMembers)];
+			numMembers = kept;
+			for (int j = 0; j < numMembers; j++)
+				level[members[j]] = i;
+		}
+		return level;
+	}
+
+	/**
+	* Dijkstra's algorithm from every member of A_i at once.
+	* @param pivot filled with the nearest member of A_i to each vertex, or -1
+	* @param cost filled with the cost to it, or Integer.MAX_VALUE
+	*/
+	private static void nearest(Adjacency adjacency, int[] level, int i, int[] pivot, int[] cost) {
+		int n = adjacency.numVertices();
+		SearchNode[] keys = new SearchNode[n]; // for finding each vertex in pq
+		for (int v = 0; v < n; v++) {
+			cost[v] = level[v] >= i ? 0 : Integer.MAX_VALUE;
+			pivot[v] = level[v] >= i ? v : -1;
+			keys[v] = new SearchNode(v, cost[v]);
+		}
+		DHeap<SearchNode> pq = new DHeap<SearchNode>(4, Arrays.asList(keys));
+		Adjacency.Cursor cursor = adjacency.cursor();
+		while (!pq.isEmpty()) {
+			int current = pq.deleteMin().getId();
+			if (cost[current] == Integer.MAX_VALUE)
+				break; // everything left is far from every member
+			for (cursor.reset(current); cursor.next(); ) {
+				int target = cursor.target();
+				int newCost = cost[current] + cursor.weight();
+				if (newCost < cost[target]) {
+					cost[target] = newCost;
+					pivot[target] = pivot[current];
+					pq.decreaseKey(keys[target], newCost);
+				}
+			}
+		}
+	}
+
+	/**
+	* The bunch entries found so far, in the order found.
+	*/
+	private static class Bunches {
+		private final int n;
+		private long[] keys = new long[16];
+		private int[] costs = new int[16];
+		private int size;
+
+		Bunches(int n) {
+			this.n = n;
+		}
+
+		/**
+		* records that w is in the bunch of v
+		*/
+		void add(int v, int w, int cost) {
+			if (size == keys.length) {
+				keys = Arrays.copyOf(keys, 2 * size);
+				costs = Arrays.copyOf(costs, 2 * size);
+			}
+			keys[size] = (long) v * n + w;
+			costs[size++] = cost;
+		}
+	}
+
+	/**
+	* Scratch space for the cluster searches, kept between them so that each
+	* costs time proportional to the vertices it touches rather than to V.
+	*/
+	private static class ClusterSearch {
+		private final int[] cost;
+		private final boolean[] reached;
+		private final int[] touched; // the vertices reached, to reset afterwards
+		private int numTouched;
+
+		ClusterSearch(int n) {
+			cost = new int[n];
+			reached = new boolean[n];
+			touched = new int[n];
+		}
+
+		/**
+		* Dijkstra's algorithm from w, going only to vertices nearer w than
+		* the next level is: the cluster of w, the vertices whose bunches hold w.
+		* Every vertex on a shortest path from w into the cluster is in it too,
+		* so the search need not go past the vertices it leaves out.
+		* @param bound the cost from each vertex to the next level, or null if
+		* 	w is on the last level
+		*/
+		void run(Adjacency adjacency, int w, int[] bound, Bunches bunches) {
+			DHeap<SearchNode> pq = new DHeap<SearchNode>(4);
+			Adjacency.Cursor cursor = adjacency.cursor();
+			if (bound == null || bound[w] > 0) {
+				reach(w, 0);
+				pq.insert(new SearchNode(w, 0));
+			}
+			while (!pq.isEmpty()) {
+				int current = pq.deleteMin().getId();
+				bunches.add(current, w, cost[current]);
+				for (cursor.reset(current); cursor.next(); ) {
+					int target = cursor.target();
+					int newCost = cost[current] + cursor.weight();
+					if (bound != null && newCost >= bound[target])
+						continue; // target is at least as near the next level
+					if (!reached[target]) {
+						reach(target, newCost);
+						pq.insert(new SearchNode(target, newCost));
+					} else if (newCost < cost[target] && pq.contains(new SearchNode(target, 0))) {
+						cost[target] = newCost;
+						pq.decreaseKey(new SearchNode(target, 0), newCost);
+					}
+				}
+			}
+			for (int i = 0; i < numTouched; i++)
+				reached[touched[i]] = false;
+			numTouched = 0;
+		}
+
+		private void reach(int v, int newCost) {
+			reached[v] = true;
+			cost[v] = newCost;
+			touched[numTouched++] = v;
+		}
+	}
+
+	/**
+	* Builds an oracle for a graph read from files and reports its size, its
+	* query time and how far off its answers are on random pairs.
+	*/
+	public static void main(String[] args) {
+		if (args.length < 2 || args.length > 5) {
+			System.err.println("USAGE: java ApproximateOracle <vertex_file> <edge_file> [k [pairs [seed]]]");
+			System.exit(1);
+		}
+		MyGraph g = FindPaths.readGraph(args[0], args[1]);
+		int k = args.length > 2 ? Integer.parseInt(args[2]) : 2;
+		int pairs = args.length > 3 ? Integer.parseInt(args[3]) : 10000;
+		long seed = args.length > 4 ? Long.parseLong(args[4]) : 373;
+		long start = System.nanoTime();
+		ApproximateOracle oracle = new ApproximateOracle(g, k, seed);
+		System.out.printf("k = %d (stretch at most %d): built in %.1f ms, %.1f vertices per bunch, %s%n",
+				k, oracle.getStretch(), (System.nanoTime() - start) / 1e6, oracle.averageBunchSize(),
+				Footprint.format(oracle.footprint().total()));
+		List<Vertex> vertices = new ArrayList<Vertex>(g.vertices());
+		Random random = new Random(seed);
+		Vertex[] as = new Vertex[pairs];
+		Vertex[] bs = new Vertex[pairs];
+		for (int i = 0; i < pairs; i++) {
+			as[i] = vertices.get(random.nextInt(vertices.size()));
+			bs[i] = vertices.get(random.nextInt(vertices.size()));
+		}
+		long checksum = 0;
+		for (int round = 0; round < 2; round++) { // the first warms up
+			start = System.nanoTime();
+			for (int i = 0; i < pairs; i++)
+				checksum += oracle.approxDistance(as[i], bs[i]);
+		}
+		System.out.printf("%.0f ns per query (checksum %d)%n",
+				(System.nanoTime() - start) / (double) Math.max(1, pairs), checksum);
+		double[] stretches = oracle.sampleStretch(pairs, seed);
+		if (stretches.length == 0) {
+			System.out.println("no joined pairs to compare");
+			return;
+		}
+		int exact = 0;
+		for (double stretch : stretches)
+			if (stretch == 1)
+				exact++;
+		System.out.printf("%d pairs: %.1f%% exact; stretch median %.3f, 90%% %.3f, 99%% %.3f, max %.3f%n",
+				stretches.length, 100.0 * exact / stretches.length, percentile(stretches, 0.5),
+				percentile(stretches, 0.9), percentile(stretches, 0.99), stretches[stretches.length - 1]);
+		double[] limits = {1, 1.1, 1.25, 1.5, 2, 3, Double.POSITIVE_INFINITY};
+		int from = 0;
+		for (int b = 0; b < limits.length; b++) {
+			int to = from;
+			while (to < stretches.length && stretches[to] <= limits[b])
+				to++;
+			System.out.printf("  <= %-8s %6.2f%%%n", limits[b] == Double.POSITIVE_INFINITY ? "more"
+					: String.valueOf(limits[b]), 100.0 * (to - from) / stretches.length);
+			from = to;
+		}
+	}
+
+	/**
+	* @param sorted values in increasing order, at least one
+	* @return the value at fraction p of the way through sorted
+	*/
+	private static double percentile(double[] sorted, double p) {
+		return sorted[(int) Math.min(sorted.length - 1, Math.floor(p * sorted.length))];
+	}
+}
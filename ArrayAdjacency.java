@@ -0,0 +1,276 @@
+import java.util.Arrays;
+/**
+* Minerva Chen, Max Peterson
+* 10/19/2026
+* ArrayAdjacency
+*
+* Adjacency stored as three flat arrays: the out-edges of vertex v occupy
+* indexes offsets[v] to offsets[v + 1] - 1 of targets and weights, sorted by
+* target, so edge lookups are a binary search within one vertex's run.
+*/
+
+final class ArrayAdjacency extends Adjacency {
+	private final int[] offsets; // length V + 1
+	private final int[] targets;
+	private final int[] weights;
+
+	/**
+	* @param offsets the out-edges of v are at offsets[v] to offsets[v + 1] - 1
+	* @param targets edge destinations, increasing within each vertex's run
+	* @param weights edge weights, parallel to targets
+	*/
+	ArrayAdjacency(int[] offsets, int[] targets, int[] weights) {
+		this.offsets = offsets;
+		this.targets = targets;
+		this.weights = weights;
+	}
+
+	/**
+	* Builds the adjacency of the edges source[i] -> target[i] with weight weight[i]
+	* for i from 0 to m - 1. Duplicate edges are stored once.
+	* @param n the number of vertices
+	* @param vertices the vertex with each number, used in error messages
+	* @throws IllegalArgumentException if two edges have the same source and
+	* 	destination but different weights.
+	*/
+	static ArrayAdjacency build(int n, int[] source, int[] target, int[] weight, int m,
+			Vertex[] vertices) {
+		int[] offsets = new int[n + 1];
+		for (int i = 0; i < m; i++)
+			offsets[source[i] + 1]++;
+		for (int v = 0; v < n; v++)
+			offsets[v + 1] += offsets[v];
+		// bucket the edges by source, packed so that sorting orders them by target
+		long[] packed = new long[m];
+		int[] next = Arrays.copyOf(offsets, n);
+		for (int i = 0; i < m; i++)
+			packed[next[source[i]]++] = pack(target[i], weight[i]);
+		int[] degrees = new int[n];
+		for (int v = 0; v < n; v++)
+			degrees[v] = sortRun(packed, offsets[v], offsets[v + 1], v, vertices);
+		return compact(packed, offsets, degrees);
+	}
+
+	/**
+	* @param adjacency any adjacency
+	* @return the adjacency with every edge a -> b replaced by b -> a
+	*/
+	static ArrayAdjacency reverse(Adjacency adjacency) {
+		int n = adjacency.numVertices();
+		int[] offsets = new int[n + 1];
+		Cursor cursor = adjacency.cursor();
+		for (int v = 0; v < n; v++)
+			for (cursor.reset(v); cursor.next(); )
+				offsets[cursor.target() + 1]++;
+		for (int v = 0; v < n; v++)
+			offsets[v + 1] += offsets[v];
+		int[] targets = new int[offsets[n]];
+		int[] weights = new int[offsets[n]];
+		int[] next = Arrays.copyOf(offsets, n);
+		// sources are visited in increasing order, so each run comes out sorted
+		for (int v = 0; v < n; v++)
+			for (cursor.reset(v); cursor.next(); ) {
+				int i = next[cursor.target()]++;
+				targets[i] = v;
+				weights[i] = cursor.weight();
+			}
+		return new ArrayAdjacency(offsets, targets, weights);
+	}
+
+	/**
+	* @param adjacency any adjacency
+	* @param newId the new number of each vertex, a permutation of 0 to V - 1
+	* @return the adjacency with every edge a -> b replaced by newId[a] -> newId[b]
+	*/
+	static ArrayAdjacency renumber(Adjacency adjacency, int[] newId) {
+		int n = adjacency.numVertices();
+		int[] offsets = new int[n + 1];
+		for (int v = 0; v < n; v++)
+			offsets[newId[v] + 1] = adjacency.degree(v);
+		for (int v = 0; v < n; v++)
+			offsets[v + 1] += offsets[v];
+		long[] packed = new long[offsets[n]];
+		Cursor cursor = adjacency.cursor();
+		for (int v = 0; v < n; v++) {
+			int i = offsets[newId[v]];
+			for (cursor.reset(v); cursor.next(); )
+				packed[i++] = pack(newId[cursor.target()], cursor.weight());
+		}
+		int[] degrees = new int[n];
+		for (int v = 0; v < n; v++) // the edges were allowed before, so none conflict now
+			degrees[v] = sortRun(packed, offsets[v], offsets[v + 1], v, null);
+		return compact(packed, offsets, degrees);
+	}
+
+	/**
+	* @param out any adjacency
+	* @param in the reverse of out
+	* @return the adjacency with an edge each way between every two vertices
+	* 	joined by an edge of out in either direction, weighing the least of them
+	*/
+	static ArrayAdjacency symmetric(Adjacency out, Adjacency in) {
+		int n = out.numVertices();
+		int[] offsets = new int[n + 1];
+		int[] targets = new int[(int) (out.numEdges() + in.numEdges())];
+		int[] weights = new int[targets.length];
+		Cursor outCursor = out.cursor();
+		Cursor inCursor = in.cursor();
+		int m = 0;
+		for (int v = 0; v < n; v++) {
+			// both runs are sorted by target, so merge them
+			outCursor.reset(v);
+			inCursor.reset(v);
+			boolean outLeft = outCursor.next();
+			boolean inLeft = inCursor.next();
+			while (outLeft || inLeft) {
+				if (!inLeft || outLeft && outCursor.target() < inCursor.target()) {
+					targets[m] = outCursor.target();
+					weights[m++] = outCursor.weight();
+					outLeft = outCursor.next();
+				} else if (!outLeft || inCursor.target() < outCursor.target()) {
+					targets[m] = inCursor.target();
+					weights[m++] = inCursor.weight();
+					inLeft = inCursor.next();
+				} else {
+					targets[m] = outCursor.target();
+					weights[m++] = Math.min(outCursor.weight(), inCursor.weight());
+					outLeft = outCursor.next();
+					inLeft = inCursor.next();
+				}
+			}
+			offsets[v + 1] = m;
+		}
+		return new ArrayAdjacency(offsets, Arrays.copyOf(targets, m), Arrays.copyOf(weights, m));
+	}
+
+	/**
+	* sorts the packed edges at indexes from to to - 1 by target and moves each
+	* distinct edge to the front of the run
+	* @return the number of distinct edges in the run
+	* @throws IllegalArgumentException if two edges in the run have the same
+	* 	target but different weights
+	*/
+	static int sortRun(long[] packed, int from, int to, int source, Vertex[] vertices) {
+		Arrays.sort(packed, from, to);
+		int kept = from;
+		for (int i = from; i < to; i++) {
+			if (kept > from && packed[i] == packed[kept - 1])
+				continue; // same edge twice
+			if (kept > from && target(packed[i]) == target(packed[kept - 1]))
+				throw new IllegalArgumentException(
+						new Edge(vertices[source], vertices[target(packed[i])], weight(packed[kept - 1]))
+						+ " and " + new Edge(vertices[source], vertices[target(packed[i])], weight(packed[i]))
+						+ " are the same except for their weights; not allowed.");
+			packed[kept++] = packed[i];
+		}
+		return kept - from;
+	}
+
+	/**
+	* @param packed sorted runs of packed edges; the run of v starts at offsets[v]
+	* @param degrees the number of edges to keep from the front of each run
+	* @return the adjacency holding the kept edges
+	*/
+	static ArrayAdjacency compact(long[] packed, int[] offsets, int[] degrees) {
+		int n = degrees.length;
+		int[] newOffsets = new int[n + 1];
+		for (int v = 0; v < n; v++)
+			newOffsets[v + 1] = newOffsets[v] + degrees[v];
+		int[] targets = new int[newOffsets[n]];
+		int[] weights = new int[newOffsets[n]];
+		for (int v = 0; v < n; v++)
+			for (int k = 0; k < degrees[v]; k++) {
+				long edge = packed[offsets[v] + k];
+				targets[newOffsets[v] + k] = target(edge);
+				weights[newOffsets[v] + k] = weight(edge);
+			}
+		return new ArrayAdjacency(newOffsets, targets, weights);
+	}
+
+	/**
+	* @return target and a nonnegative weight packed into a long that sorts by target first
+	*/
+	static long pack(int target, int weight) {
+		return (long) target << 32 | weight;
+	}
+
+	static int target(long packed) {
+		return (int) (packed >>> 32);
+	}
+
+	static int weight(long packed) {
+		return (int) packed;
+	}
+
+	int numVertices() {
+		return offsets.length - 1;
+	}
+
+	long numEdges() {
+		return targets.length;
+	}
+
+	int degree(int v) {
+		return offsets[v + 1] - offsets[v];
+	}
+
+	int weight(int a, int b) {
+		int i = Arrays.binarySearch(targets, offsets[a], offsets[a + 1], b);
+		return i < 0 ? -1 : weights[i];
+	}
+
+	void forEachNeighbor(int v, NeighborVisitor visitor) {
+		for (int i = offsets[v]; i < offsets[v + 1]; i++)
+			visitor.visit(targets[i], weights[i]);
+	}
+
+	int relax(int v, int cost, int[] costs, int[] improved, Cursor cursor, RelaxKernel kernel) {
+		return kernel.relax(targets, weights, offsets[v], offsets[v + 1], cost, costs, improved);
+	}
+
+	Footprint footprint(String name) {
+		return footprintOf(name, offsets.length - 1, targets.length);
+	}
+
+	/**
+	* @param name what to call the footprint
+	* @param numVertices V
+	* @param numEdges E, not counting duplicates
+	* @return the estimated bytes an ArrayAdjacency of that size retains
+	*/
+	static Footprint footprintOf(String name, int numVertices, long numEdges) {
+		return new Footprint(name)
+				.add("offsets", Footprint.array(numVertices + 1L, 4))
+				.add("targets", Footprint.array(numEdges, 4))
+				.add("weights", Footprint.array(numEdges, 4));
+	}
+
+	Cursor cursor() {
+		return new ArrayCursor();
+	}
+
+	/**
+	* A cursor that walks a vertex's run of the arrays.
+	*/
+	private final class ArrayCursor extends Cursor {
+		private int i;
+		private int end;
+
+		void reset(int v) {
+			i = offsets[v] - 1;
+			end = offsets[v + 1];
+		}
+
+		boolean next() {
+			return ++i < end;
+		}
+
+		int target() {
+			return targets[i];
+		}
+
+		int weight() {
+			return weights[i];
+		}
+	}
+}
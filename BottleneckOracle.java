@@ -0,0 +1,243 @@
+import java.util.*;
+import java.util.concurrent.*;
+/**
+* Minerva Chen, Max Peterson
+* 10/19/2026
+* BottleneckOracle
+*
+* Answers the least possible greatest edge weight on a path between two
+* vertices (the minimax or bottleneck cost), taking edges either way, in
+* constant time. Built from a minimum spanning tree or forest, in which the
+* path between two vertices is always a minimax path.
+* Kruskal's algorithm run over the tree's edges builds the Kruskal
+* reconstruction tree: each union makes a node, weighing the edge that caused
+* it, over the two trees it joins, and the bottleneck between two vertices is
+* the weight of their lowest common ancestor. Rather than keep that tree, each
+* component keeps a list of its vertices, and a union appends one list to the
+* other, recording the joining weight as the gap between the last vertex of
+* the first and the first of the second. The final list is the tree's leaves
+* in order, and the lowest common ancestor of two leaves weighs the most of
+* the gaps between them, found from a sparse table of maxima over blocks of
+* gaps plus a scan of the two partial blocks at the ends.
+* Immutable once built, so safe to share between threads.
+*/
+
+public class BottleneckOracle {
+	private static final int BLOCK = 16; // gaps scanned directly at each end of a range
+	private static final int BATCH_CHUNK = 1 << 16; // pairs per task in a batch
+	private final MyGraph graph;
+	private final int[] position; // vertex id -> index in the leaf order
+	private final int[] gaps; // gaps[i]: weight joining leaves i and i + 1, MAX_VALUE if never joined
+	private final int[][] blockMax; // blockMax[j][b]: most of the gaps in blocks b to b + 2^j - 1
+
+	/**
+	* Builds the oracle from the edges of a minimum spanning tree or forest of
+	* graph, such as getMST returns. Any set of edges works, since only the
+	* spanning forest they contain is used; fewer is faster.
+	* @param graph the graph the edges are from
+	* @param edges the edges to take, either way
+	* @throws IllegalArgumentException if graph or edges is null
+	* @throws NoSuchElementException if an edge's endpoint is not in graph.
+	*/
+	public BottleneckOracle(MyGraph graph, Collection<Edge> edges) {
+		if (graph == null || edges == null)
+			throw new IllegalArgumentException((graph == null ? "graph" : "edges")
+					+ " must not be null");
+		this.graph = graph;
+		int n = graph.vertices().size();
+		int m = edges.size();
+		int[] sources = new int[m];
+		int[] targets = new int[m];
+		long[] byWeight = new long[m];
+		int i = 0;
+		for (Edge edge : edges) {
+			sources[i] = graph.getId(edge.getSource());
+			targets[i] = graph.getId(edge.getDestination());
+			byWeight[i] = (long) edge.getWeight() << 32 | i;
+			i++;
+		}
+		Arrays.sort(byWeight);
+		// each set's leaf list runs from first[root] to last[root] through next
+		int[] first = new int[n];
+		int[] last = new int[n];
+		int[] next = new int[n];
+		int[] gapAfter = new int[n]; // weight joining a leaf to the one after it
+		for (int v = 0; v < n; v++) {
+			first[v] = v;
+			last[v] = v;
+			next[v] = -1;
+			gapAfter[v] = Integer.MAX_VALUE;
+		}
+		DisjointSets sets = new MyDisjSets(n);
+		for (int e = 0; e < m && sets.numSets() > 1; e++) {
+			int edge = (int) byWeight[e];
+			int a = sets.find(sources[edge]);
+			int b = sets.find(targets[edge]);
+			if (a == b)
+				continue;
+			next[last[a]] = first[b];
+			gapAfter[last[a]] = (int) (byWeight[e] >>> 32);
+			int listFirst = first[a];
+			int listLast = last[b];
+			sets.union(a, b);
+			int root = sets.find(a);
+			first[root] = listFirst;
+			last[root] = listLast;
+		}
+		// chain what is left of the forest, joined by nothing
+		position = new int[n];
+		gaps = new int[Math.max(0, n - 1)];
+		int index = 0;
+		for (int v = 0; v < n; v++) {
+			if (!sets.isSetName(v))
+				continue;
+			for (int leaf = first[v]; leaf != -1; leaf = next[leaf]) {
+				position[leaf] = index;
+				if (index < gaps.length)
+					gaps[index] = gapAfter[leaf];
+				index++;
+			}
+		}
+		blockMax = sparseTable(gaps);
+	}
+
+	/**
+	* @return blockMax for gaps
+	*/
+	private static int[][] sparseTable(int[] gaps) {
+		int numBlocks = (gaps.length + BLOCK - 1) / BLOCK;
+		int levels = numBlocks == 0 ? 1 : 32 - Integer.numberOfLeadingZeros(numBlocks);
+		int[][] table = new int[levels][];
+		table[0] = new int[numBlocks];
+		for (int b = 0; b < numBlocks; b++) {
+			int most = 0;
+			for (int i = b * BLOCK; i < Math.min(gaps.length, (b + 1) * BLOCK); i++)
+				most = Math.max(most, gaps[i]);
+			table[0][b] = most;
+		}
+		for (int j = 1; j < levels; j++) {
+			int half = 1 << (j - 1);
+			table[j] = new int[numBlocks - (1 << j) + 1];
+			for (int b = 0; b < table[j].length; b++)
+				table[j][b] = Math.max(table[j - 1][b], table[j - 1][b + half]);
+		}
+		return table;
+	}
+
+	/**
+	* @param a one vertex
+	* @param b another vertex
+	* @return the least possible greatest edge weight on a path between a and
+	* 	b, 0 if they are the same vertex, or -1 if no path joins them
+	* @throws NoSuchElementException if a or b does not exist.
+	*/
+	public int bottleneck(Vertex a, Vertex b) {
+		return bottleneck(graph.getId(a), graph.getId(b));
+	}
+
+	/**
+	* @param a the id of one vertex
+	* @param b the id of another vertex
+	* @return the least possible greatest edge weight on a path between them,
+	* 	0 if they are the same vertex, or -1 if no path joins them
+	* @throws NoSuchElementException if no vertex has one of the ids.
+	*/
+	public int bottleneck(int a, int b) {
+		if (a < 0 || a >= position.length || b < 0 || b >= position.length)
+			throw new NoSuchElementException("no vertex with id " + (a < 0 || a >= position.length ? a : b));
+		if (a == b)
+			return 0;
+		int most = rangeMax(Math.min(position[a], position[b]), Math.max(position[a], position[b]) - 1);
+		return most == Integer.MAX_VALUE ? -1 : most;
+	}
+
+	/**
+	* Answers many pairs at once, in parallel for large batches.
+	* @param as the ids of one vertex of each pair
+	* @param bs the ids of the other, parallel to as
+	* @return the bottleneck of each pair, as bottleneck(as[i], bs[i]) gives
+	* @throws IllegalArgumentException if as and bs differ in length
+	* @throws NoSuchElementException if no vertex has one of the ids.
+	*/
+	public int[] bottlenecks(final int[] as, final int[] bs) {
+		if (as.length != bs.length)
+			throw new IllegalArgumentException(as.length + " first vertices but " + bs.length
+					+ " second vertices");
+		final int[] answers = new int[as.length];
+		if (as.length <= BATCH_CHUNK) {
+			answer(as, bs, answers, 0, as.length);
+			return answers;
+		}
+		List<Callable<Void>> chunks = new ArrayList<Callable<Void>>();
+		for (int from = 0; from < as.length; from += BATCH_CHUNK) {
+			final int start = from;
+			final int end = Math.min(as.length, from + BATCH_CHUNK);
+			chunks.add(new Callable<Void>() {
+				public Void call() {
+					answer(as, bs, answers, start, end);
+					return null;
+				}
+			});
+		}
+		try {
+			for (Future<Void> chunk : ForkJoinPool.commonPool().invokeAll(chunks))
+				chunk.get();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("interrupted while answering pairs");
+		} catch (ExecutionException e) {
+			if (e.getCause() instanceof RuntimeException)
+				throw (RuntimeException) e.getCause();
+			throw new IllegalStateException(e.getCause());
+		}
+		return answers;
+	}
+
+	/**
+	* Answers many pairs of vertices at once, like bottlenecks on their ids.
+	* @param as one vertex of each pair
+	* @param bs the other, parallel to as
+	* @return the bottleneck of each pair
+	* @throws IllegalArgumentException if as and bs differ in size
+	* @throws NoSuchElementException if a vertex does not exist.
+	*/
+	public int[] bottlenecks(List<Vertex> as, List<Vertex> bs) {
+		int[] aIds = new int[as.size()];
+		int[] bIds = new int[bs.size()];
+		for (int i = 0; i < aIds.length; i++)
+			aIds[i] = graph.getId(as.get(i));
+		for (int i = 0; i < bIds.length; i++)
+			bIds[i] = graph.getId(bs.get(i));
+		return bottlenecks(aIds, bIds);
+	}
+
+	private void answer(int[] as, int[] bs, int[] answers, int from, int to) {
+		for (int i = from; i < to; i++)
+			answers[i] = bottleneck(as[i], bs[i]);
+	}
+
+	/**
+	* @return the most of gaps[lo] to gaps[hi], lo <= hi
+	*/
+	private int rangeMax(int lo, int hi) {
+		int loBlock = lo / BLOCK;
+		int hiBlock = hi / BLOCK;
+		int most = 0;
+		if (loBlock == hiBlock) {
+			for (int i = lo; i <= hi; i++)
+				most = Math.max(most, gaps[i]);
+			return most;
+		}
+		for (int i = lo; i < (loBlock + 1) * BLOCK; i++)
+			most = Math.max(most, gaps[i]);
+		for (int i = hiBlock * BLOCK; i <= hi; i++)
+			most = Math.max(most, gaps[i]);
+		if (hiBlock - loBlock > 1) {
+			int l = loBlock + 1;
+			int r = hiBlock - 1;
+			int j = 31 - Integer.numberOfLeadingZeros(r - l + 1);
+			most = Math.max(most, Math.max(blockMax[j][l], blockMax[j][r - (1 << j) + 1]));
+		}
+		return most;
+	}
+}
@@ -0,0 +1,150 @@
+/**
+* Minerva Chen, Max Peterson
+* 10/19/2026
+* CapacityPlanner
+*
+* Predicts the heap a graph of a given size will need before loading it,
+* using the same estimates as the footprint methods of MyGraph, DHeap and
+* MyDisjSets, so heaps can be sized and representations chosen up front.
+* Each of those classes has a static footprintOf that its footprint method
+* also calls, so the predictions follow any change to what they store.
+*/
+
+public class CapacityPlanner {
+	private static final double HEADROOM = 1.5; // garbage collectors need room to work
+
+	/**
+	* @param numVertices V
+	* @param numEdges E, not counting duplicates
+	* @param labelLength the average length of a vertex label
+	* @return the predicted footprint of a MyGraph with its edges in arrays,
+	* 	once loaded, before any indexes are built
+	*/
+	public static Footprint graph(int numVertices, long numEdges, double labelLength) {
+		return vertices("graph", numVertices, labelLength)
+				.add(ArrayAdjacency.footprintOf("edges", numVertices, numEdges));
+	}
+
+	/**
+	* @param numVertices V
+	* @param numEdges E, not counting duplicates
+	* @param labelLength the average length of a vertex label
+	* @param gapBytes the average bytes per compressed target: about 1 for a
+	* 	graph reordered so that neighbors have nearby ids, up to about
+	* 	log_128(V) + 1 for random ids
+	* @param maxWeight the largest edge weight
+	* @return the predicted footprint of MyGraph.compressed()
+	*/
+	public static Footprint compressedGraph(int numVertices, long numEdges, double labelLength,
+			double gapBytes, int maxWeight) {
+		int weightBits = 32 - Integer.numberOfLeadingZeros(maxWeight);
+		return vertices("compressed graph", numVertices, labelLength)
+				.add(CompressedAdjacency.footprintOf("edges", numVertices, numEdges,
+						(long) Math.ceil(numEdges * gapBytes), weightBits));
+	}
+
+	/**
+	* @return the vertex parts of a graph's footprint
+	*/
+	private static Footprint vertices(String name, int numVertices, double labelLength) {
+		return MyGraph.vertexFootprint(name, numVertices,
+				(long) numVertices * Footprint.string(Math.round(labelLength)));
+	}
+
+	/**
+	* @param numVertices V
+	* @param numEdges E, not counting duplicates
+	* @return the predicted footprint of the indexes a graph builds the first
+	* 	time shortestPath or isReachable is called: the reversed edges and
+	* 	the connectivity index, at the larger of a condensation just small
+	* 	enough to keep its transitive closure and one with a strong component
+	* 	per vertex and an edge between components per edge
+	*/
+	public static Footprint indexes(int numVertices, long numEdges) {
+		int closureComponents = Math.min(numVertices, ConnectivityIndex.CLOSURE_LIMIT);
+		Footprint closure = ConnectivityIndex.footprintOf(numVertices, closureComponents,
+				Math.min(numEdges, (long) closureComponents * closureComponents));
+		Footprint labels = ConnectivityIndex.footprintOf(numVertices, numVertices, numEdges);
+		return new Footprint("indexes")
+				.add(ArrayAdjacency.footprintOf("reverse edges", numVertices, numEdges))
+				.add(closure.total() > labels.total() ? closure : labels);
+	}
+
+	/**
+	* @param numVertices V
+	* @return the predicted working memory of one shortestPath call, which
+	* 	holds every vertex in a DHeap
+	*/
+	public static Footprint search(int numVertices) {
+		return new Footprint("one search")
+				.add(DHeap.footprintOf(numVertices + 1L, numVertices))
+				.add("keys", Footprint.array(numVertices, Footprint.REFERENCE)
+						+ (long) numVertices * Footprint.SMALL_OBJECT) // the heap holds clones
+				.add("costs and backpointers", 2 * Footprint.array(numVertices, 4));
+	}
+
+	/**
+	* @param numVertices V
+	* @param numEdges E, counting duplicates
+	* @param labelLength the average length of a vertex label
+	* @return the predicted extra memory while FindPaths.readGraph loads the
+	* 	graph: an Edge and two Vertex objects per edge line, then the arrays
+	* 	the edges are sorted in
+	*/
+	public static Footprint loading(int numVertices, long numEdges, double labelLength) {
+		long endpoint = Footprint.SMALL_OBJECT + Footprint.string(Math.round(labelLength));
+		return new Footprint("loading")
+				.add("edge list", Footprint.array(numEdges, Footprint.REFERENCE)
+						+ numEdges * (Footprint.object(2 * Footprint.REFERENCE + 4) + 2 * endpoint))
+				.add("edge arrays", 3 * Footprint.array(numEdges, 4))
+				.add("packed edges", Footprint.array(numEdges, 8));
+	}
+
+	/**
+	* @param numVertices V
+	* @return the predicted footprint of a MyDisjSets over V elements, as getMST uses
+	*/
+	public static Footprint disjointSets(int numVertices) {
+		return MyDisjSets.footprintOf(numVertices);
+	}
+
+	/**
+	* @param numVertices V
+	* @param numEdges E
+	* @return the predicted working memory of getMST besides its result
+	*/
+	public static Footprint mst(int numVertices, long numEdges) {
+		return new Footprint("mst")
+				.add(disjointSets(numVertices))
+				.add("edge arrays", 2 * Footprint.array(numEdges, 4) + Footprint.array(numEdges, 8));
+	}
+
+	/**
+	* Prints the predicted memory of each part of serving a graph, and a heap
+	* size that fits all of them at once.
+	*/
+	public static void main(String[] args) {
+		if (args.length < 2 || args.length > 4) {
+			System.err.println("USAGE: java CapacityPlanner <num_vertices> <num_edges> [label_length [threads]]");
+			System.exit(1);
+		}
+		int numVertices = Integer.parseInt(args[0]);
+		long numEdges = Long.parseLong(args[1]);
+		double labelLength = args.length > 2 ? Double.parseDouble(args[2]) : 8;
+		int threads = args.length > 3 ? Integer.parseInt(args[3])
+				: Runtime.getRuntime().availableProcessors();
+		Footprint graph = graph(numVertices, numEdges, labelLength);
+		Footprint compressed = compressedGraph(numVertices, numEdges, labelLength, 1.5, 1 << 16);
+		Footprint indexes = indexes(numVertices, numEdges);
+		Footprint search = search(numVertices);
+		Footprint loading = loading(numVertices, numEdges, labelLength);
+		Footprint mst = mst(numVertices, numEdges);
+		for (Footprint footprint : new Footprint[] {graph, compressed, indexes, search, loading, mst})
+			System.out.println(footprint + "\n");
+		long steady = graph.total() + indexes.total() + threads * search.total();
+		long peak = Math.max(graph.total() + loading.total(), steady);
+		System.out.println("steady state with " + threads + " concurrent searches: " + Footprint.format(steady));
+		System.out.println("peak while loading: " + Footprint.format(graph.total() + loading.total()));
+		System.out.println("suggested heap: -Xmx" + (long) Math.ceil(peak * HEADROOM / (1 << 20)) + "m");
+	}
+}
@@ -0,0 +1,234 @@
+import java.io.ByteArrayOutputStream;
+/**
+* Minerva Chen, Max Peterson
+* 10/19/2026
+* CompressedAdjacency
+*
+* Read-only adjacency in a few bytes per edge. Each vertex's targets are
+* stored as gaps from the previous target (the first one as a signed
+* distance from the vertex itself) in variable-length bytes of 7 bits each,
+* so a vertex whose neighbors have nearby ids (see VertexOrder) takes one
+* byte per target. Weights are packed into longs using just as many bits as
+* the largest weight needs. Cursors decode a run front to back; looking up
+* one edge decodes its source's run, so weight(a, b) is O(d), not O(log d).
+*/
+
+final class CompressedAdjacency extends Adjacency {
+	private static final int MAX_INITIAL_BYTES = 1 << 30; // the gaps grow past this if they need to
+	private final int[] edgeOffsets; // the out-edges of v are edges edgeOffsets[v] to edgeOffsets[v + 1] - 1
+	private final int[] byteOffsets; // the targets of v start at gaps[byteOffsets[v]]
+	private final byte[] gaps;
+	private final long[] weights; // weightBits bits per edge, low bits first
+	private final int weightBits;
+
+	private CompressedAdjacency(int[] edgeOffsets, int[] byteOffsets, byte[] gaps,
+			long[] weights, int weightBits) {
+		this.edgeOffsets = edgeOffsets;
+		this.byteOffsets = byteOffsets;
+		this.gaps = gaps;
+		this.weights = weights;
+		this.weightBits = weightBits;
+	}
+
+	/**
+	* @param adjacency any adjacency
+	* @return the same edges, compressed
+	* @throws IllegalArgumentException if there are more than Integer.MAX_VALUE edges
+	*/
+	static CompressedAdjacency compress(Adjacency adjacency) {
+		int n = adjacency.numVertices();
+		long m = adjacency.numEdges();
+		if (m > Integer.MAX_VALUE)
+			throw new IllegalArgumentException(m + " edges are too many to compress");
+		int[] edgeOffsets = new int[n + 1];
+		int[] byteOffsets = new int[n + 1];
+		// about one byte per edge when neighbors have nearby ids
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream(
+				(int) Math.min(m + n, MAX_INITIAL_BYTES));
+		Cursor cursor = adjacency.cursor();
+		int maxWeight = 0;
+		for (int v = 0; v < n; v++) {
+			int previous = -1;
+			for (cursor.reset(v); cursor.next(); ) {
+				int target = cursor.target();
+				if (previous < 0) { // zigzag, so small distances either way are small
+					long distance = (long) target - v;
+					writeVarint(bytes, distance << 1 ^ distance >> 63);
+				} else
+					writeVarint(bytes, target - previous - 1); // targets are distinct and increasing
+				previous = target;
+				maxWeight = Math.max(maxWeight, cursor.weight());
+			}
+			edgeOffsets[v + 1] = edgeOffsets[v] + adjacency.degree(v);
+			byteOffsets[v + 1] = bytes.size();
+		}
+		int weightBits = 32 - Integer.numberOfLeadingZeros(maxWeight);
+		long[] weights = new long[(int) ((m * weightBits + 63) >>> 6)];
+		long bit = 0;
+		for (int v = 0; v < n; v++)
+			for (cursor.reset(v); cursor.next(); bit += weightBits)
+				if (weightBits > 0)
+					writeBits(weights, bit, weightBits, cursor.weight());
+		return new CompressedAdjacency(edgeOffsets, byteOffsets, bytes.toByteArray(), weights,
+				weightBits);
+	}
+
+	/**
+	* writes value in 7-bit groups, lowest first, setting the high bit of
+	* every byte but the last
+	*/
+	private static void writeVarint(ByteArrayOutputStream out, long value) {
+		while ((value & ~0x7FL) != 0) {
+			out.write((int) (value & 0x7F) | 0x80);
+			value >>>= 7;
+		}
+		out.write((int) value);
+	}
+
+	/**
+	* decodes one target, the inverse of the writeVarint calls in compress
+	* @param gaps the encoded targets
+	* @param position where the target's bytes start
+	* @param source the vertex whose out-edge this is
+	* @param previous the target before this one in the run, if there is one
+	* @param first whether this is the first target of the run
+	* @return the target in the high 32 bits and the position after its
+	* 	bytes in the low 32, so that decoding allocates nothing
+	*/
+	private static long readTarget(byte[] gaps, int position, int source, int previous,
+			boolean first) {
+		long value = 0;
+		int shift = 0;
+		byte b;
+		do {
+			b = gaps[position++];
+			value |= (long) (b & 0x7F) << shift;
+			shift += 7;
+		} while (b < 0);
+		int target = first ? (int) (source + (value >>> 1 ^ -(value & 1))) // undo the zigzag
+				: previous + (int) value + 1;
+		return (long) target << 32 | position;
+	}
+
+	/**
+	* stores the low width bits of value at bit position bit of words
+	*/
+	private static void writeBits(long[] words, long bit, int width, long value) {
+		int word = (int) (bit >>> 6);
+		int shift = (int) (bit & 63);
+		words[word] |= value << shift;
+		if (shift + width > 64)
+			words[word + 1] |= value >>> (64 - shift);
+	}
+
+	/**
+	* @return the weight of the edge with the given index
+	*/
+	private int weightAt(int edge) {
+		if (weightBits == 0)
+			return 0;
+		long bit = (long) edge * weightBits;
+		int word = (int) (bit >>> 6);
+		int shift = (int) (bit & 63);
+		long value = weights[word] >>> shift;
+		if (shift + weightBits > 64)
+			value |= weights[word + 1] << (64 - shift);
+		return (int) (value & ((1L << weightBits) - 1));
+	}
+
+	int numVertices() {
+		return edgeOffsets.length - 1;
+	}
+
+	long numEdges() {
+		return edgeOffsets[edgeOffsets.length - 1];
+	}
+
+	int degree(int v) {
+		return edgeOffsets[v + 1] - edgeOffsets[v];
+	}
+
+	int weight(int a, int b) {
+		int position = byteOffsets[a];
+		int target = a;
+		for (int edge = edgeOffsets[a]; edge < edgeOffsets[a + 1]; edge++) {
+			long read = readTarget(gaps, position, a, target, edge == edgeOffsets[a]);
+			target = (int) (read >>> 32);
+			position = (int) read;
+			if (target >= b)
+				return target == b ? weightAt(edge) : -1;
+		}
+		return -1;
+	}
+
+	void forEachNeighbor(int v, NeighborVisitor visitor) {
+		int position = byteOffsets[v];
+		int target = v;
+		for (int edge = edgeOffsets[v]; edge < edgeOffsets[v + 1]; edge++) {
+			long read = readTarget(gaps, position, v, target, edge == edgeOffsets[v]);
+			target = (int) (read >>> 32);
+			position = (int) read;
+			visitor.visit(target, weightAt(edge));
+		}
+	}
+
+	Footprint footprint(String name) {
+		return footprintOf(name, numVertices(), numEdges(), gaps.length, weightBits);
+	}
+
+	/**
+	* @param name what to call the footprint
+	* @param numVertices V
+	* @param numEdges E, not counting duplicates
+	* @param gapBytes the bytes the targets take as gaps
+	* @param weightBits the bits each weight takes
+	* @return the estimated bytes a CompressedAdjacency of that size retains
+	*/
+	static Footprint footprintOf(String name, int numVertices, long numEdges, long gapBytes,
+			int weightBits) {
+		return new Footprint(name)
+				.add("edge offsets", Footprint.array(numVertices + 1L, 4))
+				.add("byte offsets", Footprint.array(numVertices + 1L, 4))
+				.add("target gaps", Footprint.array(gapBytes, 1))
+				.add("packed weights", Footprint.array((numEdges * weightBits + 63) >>> 6, 8));
+	}
+
+	Cursor cursor() {
+		return new CompressedCursor();
+	}
+
+	/**
+	* A cursor that decodes a vertex's run of gaps as it goes.
+	*/
+	private final class CompressedCursor extends Cursor {
+		private int source;
+		private int position; // next byte to decode
+		private int edge; // index of the current edge
+		private int end; // index after the last edge
+		private int target;
+
+		void reset(int v) {
+			source = v;
+			position = byteOffsets[v];
+			edge = edgeOffsets[v] - 1;
+			end = edgeOffsets[v + 1];
+		}
+
+		boolean next() {
+			if (++edge >= end)
+				return false;
+			long read = readTarget(gaps, position, source, target, edge == edgeOffsets[source]);
+			target = (int) (read >>> 32);
+			position = (int) read;
+			return true;
+		}
+
+		int target() {
+			return target;
+		}
+
+		int weight() {
+			return weightAt(edge);
+		}
+	}
+}
@@ -0,0 +1,428 @@
+import java.util.*;
+import java.util.concurrent.ConcurrentLinkedQueue;
+/**
+* Minerva Chen, Max Peterson
+* 10/19/2026
+* ConnectivityIndex
+*
+* Answers "can a reach b?" for a MyGraph without searching the graph.
+* Built from the weak components (by MyDisjSets) and the strongly connected
+* components (by an iterative Tarjan's algorithm) of the graph. Tarjan's
+* algorithm numbers the strong components so that every edge between two
+* components goes from a higher number to a lower one, which rules out half
+* of all pairs at once. Up to CLOSURE_LIMIT components, the full transitive
+* closure of the components is kept as bit sets so every query takes O(1).
+* Beyond that each component gets O(1) labels instead:
+* - its level, the most edges on a path from it to a sink, which must drop
+* 	along any path;
+* - two interval labels from depth-first searches of the component graph
+* 	taking children in opposite orders, [least post-order number reachable,
+* 	own post-order number], which must nest along any path;
+* - its pre- and post-order numbers in the first search's spanning forest,
+* 	within whose subtree it reaches everything.
+* So most unreachable pairs fail a label and most reachable ones fall in a
+* subtree, both in O(1). The rest are settled by a search of the component
+* graph that skips every component whose labels rule out the target, using
+* scratch arrays pooled in the index and cleared by stamping.
+* Immutable once built, so safe to share between threads.
+*/
+
+class ConnectivityIndex {
+	static final int CLOSURE_LIMIT = 1 << 13; // closure takes CLOSURE_LIMIT^2 / 8 bytes at most
+	private final int[] weak; // vertex id -> name of its weak component
+	private final int[] strong; // vertex id -> number of its strong component
+	private final int numStrong;
+	private final Adjacency condensation; // edges between strong components, by number
+	private final long[][] closure; // component -> bit set of the components it reaches, or null
+	// the labels of each component, or null when closure is kept
+	private final int[] level; // most edges on a path to a sink
+	private final int[] pre; // pre-order number in the first search's spanning forest
+	private final int[] post; // post-order number in the first search
+	private final int[] low; // least post-order number of anything it reaches, in the first search
+	private final int[] post2; // the same for the second search, children taken in reverse
+	private final int[] low2;
+	private final Queue<Scratch> scratchPool; // search arrays not in use, or null
+
+	/**
+	* @param adjacency the edges of the graph to index
+	*/
+	ConnectivityIndex(Adjacency adjacency) {
+		int n = adjacency.numVertices();
+		DisjointSets sets = new MyDisjSets(n);
+		Adjacency.Cursor cursor = adjacency.cursor();
+		for (int v = 0; v < n; v++)
+			for (cursor.reset(v); cursor.next(); ) {
+				int a = sets.find(v);
+				int b = sets.find(cursor.target());
+				if (a != b)
+					sets.union(a, b);
+			}
+		weak = new int[n];
+		for (int v = 0; v < n; v++)
+			weak[v] = sets.find(v); // find compresses paths, so keep plain answers for readers
+		strong = new int[n];
+		numStrong = findStrongComponents(adjacency);
+		condensation = condense(adjacency);
+		if (numStrong <= CLOSURE_LIMIT) {
+			closure = transitiveClosure();
+			level = pre = post = low = post2 = low2 = null;
+			scratchPool = null;
+			return;
+		}
+		closure = null;
+		int[] offsets = new int[numStrong + 1];
+		int[] targets = new int[(int) condensation.numEdges()];
+		Adjacency.Cursor edges = condensation.cursor();
+		for (int c = 0; c < numStrong; c++) {
+			offsets[c + 1] = offsets[c];
+			for (edges.reset(c); edges.next(); )
+				targets[offsets[c + 1]++] = edges.target();
+		}
+		level = new int[numStrong];
+		for (int c = 0; c < numStrong; c++) // everything c has an edge to is numbered lower, so done
+			for (int i = offsets[c]; i < offsets[c + 1]; i++)
+				level[c] = Math.max(level[c], level[targets[i]] + 1);
+		pre = new int[numStrong];
+		post = new int[numStrong];
+		post2 = new int[numStrong];
+		depthFirst(offsets, targets, false, pre, post);
+		depthFirst(offsets, targets, true, null, post2);
+		low = lowest(offsets, targets, post);
+		low2 = lowest(offsets, targets, post2);
+		scratchPool = new ConcurrentLinkedQueue<Scratch>();
+	}
+
+	/**
+	* @param a the id of a vertex
+	* @param b the id of another vertex
+	* @return true if there is a path from a to b
+	*/
+	boolean canReach(int a, int b) {
+		if (weak[a] != weak[b])
+			return false;
+		int from = strong[a];
+		int to = strong[b];
+		if (from == to)
+			return true;
+		if (from < to)
+			return false; // edges only lead to lower numbered components
+		if (closure != null)
+			return (closure[from][to >>> 6] & 1L << to) != 0;
+		if (ruledOut(from, to))
+			return false;
+		if (inSubtree(from, to))
+			return true;
+		return searchCondensation(from, to);
+	}
+
+	/**
+	* @param a the id of a vertex
+	* @param b the id of another vertex
+	* @return true if a and b are in the same weak component, i.e. connected
+	* 	when the directions of the edges are ignored
+	*/
+	boolean weaklyConnected(int a, int b) {
+		return weak[a] == weak[b];
+	}
+
+	/**
+	* @param a the id of a vertex
+	* @param b the id of another vertex
+	* @return true if a and b can reach each other
+	*/
+	boolean stronglyConnected(int a, int b) {
+		return strong[a] == strong[b];
+	}
+
+	/**
+	* @return the number of strongly connected components
+	*/
+	int numStrongComponents() {
+		return numStrong;
+	}
+
+	/**
+	* @return the estimated bytes this index retains, by component
+	*/
+	Footprint footprint() {
+		return footprintOf(weak.length, numStrong, condensation.numEdges());
+	}
+
+	/**
+	* @param numVertices V
+	* @param numStrong the number of strongly connected components
+	* @param numCondensedEdges the number of distinct edges between them
+	* @return the estimated bytes an index of a graph like that retains, by
+	* 	component, keeping the closure or the labels as the constructor would
+	*/
+	static Footprint footprintOf(int numVertices, int numStrong, long numCondensedEdges) {
+		Footprint footprint = new Footprint("connectivity index")
+				.add("weak components", Footprint.array(numVertices, 4))
+				.add("strong components", Footprint.array(numVertices, 4))
+				.add(ArrayAdjacency.footprintOf("condensation", numStrong, numCondensedEdges));
+		if (numStrong <= CLOSURE_LIMIT)
+			footprint.add("transitive closure", Footprint.array(numStrong, Footprint.REFERENCE)
+					+ numStrong * Footprint.array((numStrong + 63) >>> 6, 8));
+		else
+			footprint.add("reachability labels", 6 * Footprint.array(numStrong, 4));
+		return footprint;
+	}
+
+	/**
+	* Numbers the strongly connected components of the graph by Tarjan's
+	* algorithm with an explicit stack, filling in strong.
+	* @return the number of components
+	*/
+	private int findStrongComponents(Adjacency adjacency) {
+		int n = adjacency.numVertices();
+		int[] index = new int[n]; // order of discovery, starting at 1; 0 if undiscovered
+		int[] low = new int[n]; // lowest index reachable through the DFS subtree and back edges
+		boolean[] onStack = new boolean[n];
+		int[] stack = new int[n]; // vertices not yet assigned to a component
+		int[] callStack = new int[n]; // the vertices of the simulated recursion
+		List<Adjacency.Cursor> cursors = new ArrayList<Adjacency.Cursor>(); // one per recursion depth
+		int stackSize = 0;
+		int nextIndex = 1;
+		int numComponents = 0;
+		for (int root = 0; root < n; root++) {
+			if (index[root] != 0)
+				continue;
+			int depth = 0;
+			callStack[0] = root;
+			index[root] = low[root] = nextIndex++;
+			stack[stackSize++] = root;
+			onStack[root] = true;
+			cursor(cursors, 0, adjacency).reset(root);
+			while (depth >= 0) {
+				int v = callStack[depth];
+				Adjacency.Cursor cursor = cursors.get(depth);
+				if (cursor.next()) {
+					int w = cursor.target();
+					if (index[w] == 0) { // recurse into w
+						index[w] = low[w] = nextIndex++;
+						stack[stackSize++] = w;
+						onStack[w] = true;
+						callStack[++depth] = w;
+						cursor(cursors, depth, adjacency).reset(w);
+					} else if (onStack[w])
+						low[v] = Math.min(low[v], index[w]);
+				} else { // return from v
+					if (low[v] == index[v]) { // v is the root of a component
+						int w;
+						do {
+							w = stack[--stackSize];
+							onStack[w] = false;
+							strong[w] = numComponents;
+						} while (w != v);
+						numComponents++;
+					}
+					depth--;
+					if (depth >= 0)
+						low[callStack[depth]] = Math.min(low[callStack[depth]], low[v]);
+				}
+			}
+		}
+		return numComponents;
+	}
+
+	/**
+	* @return the cursor for the given recursion depth, made the first time
+	* 	that depth is reached
+	*/
+	private static Adjacency.Cursor cursor(List<Adjacency.Cursor> cursors, int depth,
+			Adjacency adjacency) {
+		if (depth == cursors.size())
+			cursors.add(adjacency.cursor());
+		return cursors.get(depth);
+	}
+
+	/**
+	* @return the edges between different strong components, by component number
+	*/
+	private Adjacency condense(Adjacency adjacency) {
+		int n = adjacency.numVertices();
+		int m = 0;
+		Adjacency.Cursor cursor = adjacency.cursor();
+		for (int v = 0; v < n; v++)
+			for (cursor.reset(v); cursor.next(); )
+				if (strong[v] != strong[cursor.target()])
+					m++;
+		int[] sources = new int[m];
+		int[] targets = new int[m];
+		int[] weights = new int[m];
+		m = 0;
+		for (int v = 0; v < n; v++)
+			for (cursor.reset(v); cursor.next(); )
+				if (strong[v] != strong[cursor.target()]) {
+					sources[m] = strong[v];
+					targets[m] = strong[cursor.target()];
+					m++;
+				}
+		// every weight is 0, so no two edges conflict and no vertices are needed for messages
+		return ArrayAdjacency.build(numStrong, sources, targets, weights, m, null);
+	}
+
+	/**
+	* @return for each component, the bit set of the components it can reach.
+	* 	Components are visited in increasing number, so everything a component
+	* 	has an edge to is already done.
+	*/
+	private long[][] transitiveClosure() {
+		int words = (numStrong + 63) >>> 6;
+		long[][] reach = new long[numStrong][words];
+		Adjacency.Cursor cursor = condensation.cursor();
+		for (int c = 0; c < numStrong; c++) {
+			reach[c][c >>> 6] |= 1L << c;
+			for (cursor.reset(c); cursor.next(); ) {
+				long[] other = reach[cursor.target()];
+				for (int i = 0; i < words; i++)
+					reach[c][i] |= other[i];
+			}
+		}
+		return reach;
+	}
+
+	/**
+	* Numbers the components in pre- and post-order of a depth-first search
+	* of the component graph, starting from the highest numbered unvisited
+	* component each time, since those are nearest the sources.
+	* @param offsets the edges of component c are targets[offsets[c]] to
+	* 	targets[offsets[c + 1] - 1]
+	* @param reversed whether to take each component's edges last to first
+	* @param pre filled with pre-order numbers, unless null
+	* @param post filled with post-order numbers
+	*/
+	private void depthFirst(int[] offsets, int[] targets, boolean reversed, int[] pre, int[] post) {
+		boolean[] visited = new boolean[numStrong];
+		int[] taken = new int[numStrong]; // how many of its edges each component has followed
+		int[] stack = new int[numStrong];
+		int nextPre = 0;
+		int nextPost = 0;
+		for (int root = numStrong - 1; root >= 0; root--) {
+			if (visited[root])
+				continue;
+			int size = 0;
+			stack[size++] = root;
+			visited[root] = true;
+			if (pre != null)
+				pre[root] = nextPre++;
+			while (size > 0) {
+				int c = stack[size - 1];
+				if (taken[c] == offsets[c + 1] - offsets[c]) {
+					post[c] = nextPost++;
+					size--;
+					continue;
+				}
+				int k = taken[c]++;
+				int child = targets[reversed ? offsets[c + 1] - 1 - k : offsets[c] + k];
+				if (!visited[child]) {
+					visited[child] = true;
+					if (pre != null)
+						pre[child] = nextPre++;
+					stack[size++] = child;
+				}
+			}
+		}
+	}
+
+	/**
+	* @return for each component, the least of post over it and every
+	* 	component it reaches
+	*/
+	private int[] lowest(int[] offsets, int[] targets, int[] post) {
+		int[] lowest = new int[numStrong];
+		for (int c = 0; c < numStrong; c++) {
+			lowest[c] = post[c];
+			for (int i = offsets[c]; i < offsets[c + 1]; i++)
+				lowest[c] = Math.min(lowest[c], lowest[targets[i]]);
+		}
+		return lowest;
+	}
+
+	/**
+	* @return true if the labels show that component from cannot reach
+	* 	component to, a different one
+	*/
+	private boolean ruledOut(int from, int to) {
+		return level[from] <= level[to]
+				|| post[to] > post[from] || low[to] < low[from]
+				|| post2[to] > post2[from] || low2[to] < low2[from];
+	}
+
+	/**
+	* @return true if component to is a descendant of component from in the
+	* 	first search's spanning forest, so from reaches it
+	*/
+	private boolean inSubtree(int from, int to) {
+		return pre[from] < pre[to] && post[to] < post[from];
+	}
+
+	/**
+	* depth-first search of the components from from for to, skipping
+	* components whose labels rule to out and stopping at any whose
+	* subtree holds it
+	*/
+	private boolean searchCondensation(int from, int to) {
+		Scratch scratch = scratchPool.poll();
+		if (scratch == null)
+			scratch = new Scratch(numStrong, condensation);
+		try {
+			int stamp = scratch.nextStamp();
+			int[] seen = scratch.seen;
+			int[] stack = scratch.stack;
+			int size = 0;
+			stack[size++] = from;
+			seen[from] = stamp;
+			Adjacency.Cursor cursor = scratch.cursor;
+			while (size > 0) {
+				for (cursor.reset(stack[--size]); cursor.next(); ) {
+					int c = cursor.target();
+					if (c == to)
+						return true;
+					if (c > to && seen[c] != stamp) {
+						seen[c] = stamp;
+						if (ruledOut(c, to))
+							continue;
+						if (inSubtree(c, to))
+							return true;
+						stack[size++] = c;
+					}
+				}
+			}
+			return false;
+		} finally {
+			scratchPool.offer(scratch);
+		}
+	}
+
+	/**
+	* The arrays of one searchCondensation at a time, taken from the pool and
+	* put back after. A component has been seen in the current search if its
+	* entry in seen is the current stamp, so nothing needs clearing between
+	* searches. Refers only to what it searches, not to the index, so
+	* nothing keeps an index alive but its own users.
+	*/
+	private static class Scratch {
+		final int[] seen;
+		final int[] stack;
+		final Adjacency.Cursor cursor;
+		private int stamp;
+
+		Scratch(int size, Adjacency condensation) {
+			seen = new int[size];
+			stack = new int[size];
+			cursor = condensation.cursor();
+		}
+
+		/**
+		* @return a stamp that no entry of seen holds yet
+		*/
+		int nextStamp() {
+			if (++stamp == 0) { // wrapped around, so old stamps could come back
+				Arrays.fill(seen, 0);
+				stamp = 1;
+			}
+			return stamp;
+		}
+	}
+}
@@ -1,11 +1,12 @@
 import java.util.*;
 
-public class DHeap<E extends Dijkstrable<E>> {
+public class DHeap<E extends Dijkstrable<E>> implements DijkstraPQ<E> {
 	private E[] treeArray;
 	private int size;
 	private int d; // the d of this d-ary heap
 	private Map<E, Integer> indexMap; // allows O(1) hash access to index of heap element
 	private static final int INIT_SIZE = 10;
+	private static final int MAX_ARITY = 64; // wider nodes cost more per level than they save in levels
 
 	/**
 	* constructs a new d-ary heap (so each node has between 0 and d children inclusive)
@@ -16,6 +17,44 @@ public class DHeap<E extends Dijkstrable<E>> {
 		indexMap = new HashMap<E, Integer>();
 		makeEmpty();
 	}
+
+	/**
+	* constructs a new d-ary heap holding elements, in O(n) time: the elements
+	* are put in the array as given and then every node that has children is
+	* percolated down, from the last such node to the root (Floyd's method).
+	* @param d the number of nodes per level 
+	* @param elements the initial elements
+	*/
+	@SuppressWarnings("unchecked")
+	public DHeap(int d, Collection<E> elements) {
+		this.d = d;
+		indexMap = new HashMap<E, Integer>(Math.max(16, elements.size() * 4 / 3 + 1));
+		treeArray = (E[]) new Dijkstrable[Math.max(INIT_SIZE * d, elements.size() + 1)];
+		for (E element : elements) {
+			size++;
+			treeArray[size] = element.cloneIt();
+			indexMap.put(treeArray[size], size);
+		}
+		for (int i = getParent(size); i >= 1; i--)
+			percolateDown(i);
+	}
+
+	/**
+	* Picks the d for a heap that will see about deleteMins deleteMin calls and
+	* decreaseKeys decreaseKey calls. A deleteMin looks at all d children on each
+	* of log_d(n) levels while a decreaseKey only climbs the levels, so the total
+	* work is least when d is about decreaseKeys / deleteMins. For Dijkstra's
+	* algorithm that is E / V.
+	* @param deleteMins the expected number of deleteMin calls
+	* @param decreaseKeys the expected number of decreaseKey calls
+	* @return a d between 2 and 64
+	*/
+	public static int chooseArity(long deleteMins, long decreaseKeys) {
+		if (deleteMins <= 0)
+			return 2;
+		long d = Math.round((double) decreaseKeys / deleteMins);
+		return (int) Math.max(2, Math.min(MAX_ARITY, d));
+	}
   
   	/**
 	* empties the heap of all elements
@@ -23,8 +62,32 @@ public class DHeap<E extends Dijkstrable<E>> {
 	@SuppressWarnings("unchecked")
    public void makeEmpty() {
 		treeArray = (E[]) new Dijkstrable[INIT_SIZE * d];
+		size = 0;
+		indexMap.clear();
    }
 	
+	/**
+	* @return the estimated bytes this heap retains. Counts each element as a
+	* 	small object of two fields, like a SearchNode or Vertex, but not
+	* 	anything an element points to, such as a vertex's label.
+	*/
+	public Footprint footprint() {
+		return footprintOf(treeArray.length, size);
+	}
+
+	/**
+	* @param capacity the length of treeArray
+	* @param size the number of elements
+	* @return the estimated bytes a heap of that size retains, counting
+	* 	elements as footprint() does
+	*/
+	static Footprint footprintOf(long capacity, long size) {
+		return new Footprint("d-heap")
+				.add("treeArray", Footprint.array(capacity, Footprint.REFERENCE))
+				.add("indexMap", Footprint.hashMap(size) + size * Footprint.BOXED_INT)
+				.add("elements", size * Footprint.SMALL_OBJECT);
+	}
+
 	/**
 	* @return true if the heap is empty, false otherwise
 	*/
@@ -108,21 +171,36 @@ public class DHeap<E extends Dijkstrable<E>> {
 	*/
 	public E deleteMin() {
 		E min = findMin();
-		treeArray[1] = treeArray[size];
 		indexMap.remove(min);
-		percolateDown();
+		treeArray[1] = treeArray[size];
+		treeArray[size] = null;
 		size--;
+		if (size > 0)
+			percolateDown(1);
 		return min;
 	}
 
+	/**
+	* removes the k highest priority items, or all of them if there are fewer than k
+	* @param k the most items to remove
+	* @return the removed items, highest priority first
+	*/
+	public List<E> pollBatch(int k) {
+		List<E> batch = new ArrayList<E>(Math.min(k, size));
+		while (batch.size() < k && !isEmpty())
+			batch.add(deleteMin());
+		return batch;
+	}
+
 	/** 
 	* after removing the min, the heap needs to be adjusted to preserve the heap
 	* property; this method does that. The lowest, rightmost leaf is placed 
 	* temporarily at the root and then trades with the minimum child at every
 	* level until there are no children with higher priority.
+	* @param i is the location in treeArray at which to start percolating
 	*/
-	private void percolateDown() {
-		int i = 1;
+	private void percolateDown(int i) {
+		indexMap.put(treeArray[i], i);
 		while (treeArray[i].compareTo(treeArray[minChildIndex(i)]) > 0) { // while there is a higher priority child
 			int iNext = minChildIndex(i);
 			E temp = treeArray[i];
@@ -0,0 +1,63 @@
+/**
+* Minerva Chen, Max Peterson
+* 10/19/2026
+* DijkstraPQ
+*
+* A priority queue with the operations Dijkstra's algorithm needs. Elements
+* are copied in on insert, and decreaseKey finds the queue's copy of an
+* element by equals. Lower priority values come out first.
+*/
+
+public interface DijkstraPQ<E extends Dijkstrable<E>> {
+	/**
+	* empties the queue of all elements
+	*/
+	public void makeEmpty();
+
+	/**
+	* @return true if the queue is empty, false otherwise
+	*/
+	public boolean isEmpty();
+
+	/**
+	* @return the number of elements in the queue
+	*/
+	public int size();
+
+	/**
+	* @return a copy of the queue's element equal to this one
+	*/
+	public E get(E element);
+
+	/**
+	* @return true if the queue contains element, false otherwise
+	*/
+	public boolean contains(E element);
+
+	/**
+	* Increases the priority of element.
+	* @param element the element to increase priority of
+	* @param priority the new priority, no greater than its current one
+	* @throws NoSuchElementException if the element is not in the queue.
+	*/
+	public void decreaseKey(E element, int priority);
+
+	/**
+	* inserts a copy of element
+	* @param element the element to insert
+	*/
+	public void insert(E element);
+
+	/**
+	* @return the highest priority item
+	* @throws EmptyPQException if the queue is empty.
+	*/
+	public E findMin();
+
+	/**
+	* removes the highest priority item
+	* @return the highest priority item
+	* @throws EmptyPQException if the queue is empty.
+	*/
+	public E deleteMin();
+}
@@ -12,6 +12,11 @@ public interface Dijkstrable<E> extends Comparable<E> {
 	* @param the new priority
 	*/
 	public void updatePriority(int priority);
+
+	/**
+	* @return the priority of this; lower values are higher priority
+	*/
+	public int getPriority();
 	
 	/**
 	* @return a copy of this object
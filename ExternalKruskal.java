@@ -0,0 +1,368 @@
+import java.util.*;
+import java.io.*;
+import java.lang.management.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+/**
+* Minerva Chen, Max Peterson
+* 10/19/2026
+* ExternalKruskal
+*
+* Kruskal's algorithm for edge files bigger than memory. Reads the edge file
+* once, sorting each runSize edges by weight in memory and spilling them to a
+* temporary file as 12-byte (weight, source id, target id) records; then merges
+* the runs, reading each through its own buffer, and feeds the merged edges,
+* cheapest first, to MyDisjSets until V - 1 edges are accepted. If there are
+* more than MAX_FAN_IN runs, groups of them are first merged into longer runs.
+* Memory is O(V + runSize + MAX_FAN_IN * buffer size). Keeps count of the bytes it
+* writes and reads and of the most heap in use, for tuning runSize. Like
+* MyGraph.getMST, treats every edge as undirected.
+*/
+
+public class ExternalKruskal {
+	private static final int RECORD_BYTES = 12;
+	private static final int BUFFER_BYTES = RECORD_BYTES << 12; // per run while merging
+	private static final int MAX_FAN_IN = 64; // most runs merged at once
+	private final Vertex[] vertexArray; // id -> vertex
+	private final Map<Vertex, Integer> ids; // vertex -> id
+	private final int runSize;
+	private final File tempDir;
+	private long bytesWritten;
+	private long bytesRead;
+	private int numRuns;
+
+	/**
+	* @param vertices the vertices of the graph
+	* @param runSize the most edges to sort in memory at once
+	* @param tempDir where to put the sorted runs, or null for the system default
+	* @throws IllegalArgumentException if vertices is null or runSize is not positive
+	*/
+	public ExternalKruskal(Collection<Vertex> vertices, int runSize, File tempDir) {
+		if (vertices == null)
+			throw new IllegalArgumentException("vertices must not be null");
+		if (runSize < 1)
+			throw new IllegalArgumentException("run size must be positive, not " + runSize);
+		ids = new HashMap<Vertex, Integer>();
+		List<Vertex> ordered = new ArrayList<Vertex>();
+		for (Vertex vertex : vertices)
+			if (!ids.containsKey(vertex)) {
+				ids.put(vertex, ordered.size());
+				ordered.add(vertex);
+			}
+		vertexArray = ordered.toArray(new Vertex[ordered.size()]);
+		this.runSize = runSize;
+		this.tempDir = tempDir;
+	}
+
+	/**
+	* Finds a minimum spanning tree of the edges in an edge file (in the
+	* format read by FindPaths).
+	* @param edgeFile the name of the edge file
+	* @return an unsorted set of the edges in an MST, or null if no MST exists
+	* @throws IOException if a file cannot be read or written, or the edge
+	* 	file is not in the right format
+	* @throws IllegalArgumentException if an edge has negative weight or links
+	* 	to or from a vertex not given to the constructor
+	*/
+	public Set<Edge> mst(String edgeFile) throws IOException {
+		for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans())
+			pool.resetPeakUsage();
+		List<File> runs = new ArrayList<File>();
+		try {
+			bytesWritten = 0;
+			bytesRead = 0;
+			numRuns = 0;
+			spillRuns(edgeFile, runs);
+			while (runs.size() > MAX_FAN_IN) {
+				List<File> merged = new ArrayList<File>();
+				try {
+					for (int i = 0; i < runs.size(); i += MAX_FAN_IN)
+						merged.add(mergeRuns(runs.subList(i, Math.min(i + MAX_FAN_IN, runs.size()))));
+				} finally {
+					for (File run : runs)
+						run.delete();
+					runs = merged;
+				}
+			}
+			return kruskal(runs);
+		} finally {
+			for (File run : runs)
+				run.delete();
+		}
+	}
+
+	/**
+	* @return the bytes written to sorted runs by the last mst
+	*/
+	public long bytesWritten() {
+		return bytesWritten;
+	}
+
+	/**
+	* @return the bytes read back from sorted runs by the last mst
+	*/
+	public long bytesRead() {
+		return bytesRead;
+	}
+
+	/**
+	* @return the number of sorted runs the last mst wrote, counting runs made by merging
+	*/
+	public int numRuns() {
+		return numRuns;
+	}
+
+	/**
+	* @return the most heap in use at once since the last mst began, summed
+	* 	over the heap's memory pools
+	*/
+	public long peakHeapBytes() {
+		long peak = 0;
+		for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans())
+			if (pool.getType() == MemoryType.HEAP && pool.getPeakUsage() != null)
+				peak += pool.getPeakUsage().getUsed();
+		return peak;
+	}
+
+	/**
+	* reads the edge file, writing each runSize edges sorted by weight to a
+	* new temporary file added to runs
+	*/
+	private void spillRuns(String edgeFile, List<File> runs) throws IOException {
+		int[] sources = new int[runSize];
+		int[] targets = new int[runSize];
+		int[] weights = new int[runSize];
+		long[] byWeight = new long[runSize]; // weight and index packed together
+		ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_BYTES);
+		Scanner s = new Scanner(new BufferedReader(new FileReader(edgeFile), 1 << 16));
+		long edgesRead = 0;
+		try {
+			int size = 0;
+			while (s.hasNext()) {
+				Edge edge;
+				try {
+					edge = new Edge(new Vertex(s.next()), new Vertex(s.next()), s.nextInt());
+				} catch (NoSuchElementException e) {
+					throw new IOException("edge file format incorrect after " + edgesRead + " edges");
+				}
+				Integer source = ids.get(edge.getSource());
+				Integer target = ids.get(edge.getDestination());
+				if (source == null || target == null)
+					throw new IllegalArgumentException(edge + " either comes from or goes to " +
+							"a nonexistent vertex");
+				if (edge.getWeight() < 0)
+					throw new IllegalArgumentException(edge + " has negative weight; not allowed");
+				sources[size] = source;
+				targets[size] = target;
+				weights[size] = edge.getWeight();
+				size++;
+				edgesRead++;
+				if (size == runSize) {
+					runs.add(spill(sources, targets, weights, byWeight, size, buffer));
+					size = 0;
+				}
+			}
+			if (s.ioException() != null)
+				throw s.ioException();
+			if (size > 0)
+				runs.add(spill(sources, targets, weights, byWeight, size, buffer));
+		} finally {
+			s.close();
+		}
+	}
+
+	/**
+	* sorts the first size edges by weight and writes them to a new temporary file
+	* @return the file
+	*/
+	private File spill(int[] sources, int[] targets, int[] weights, long[] byWeight, int size,
+			ByteBuffer buffer) throws IOException {
+		for (int i = 0; i < size; i++)
+			byWeight[i] = (long) weights[i] << 32 | i;
+		Arrays.sort(byWeight, 0, size);
+		File run = newRun();
+		FileChannel channel = FileChannel.open(run.toPath(), StandardOpenOption.WRITE);
+		try {
+			buffer.clear();
+			for (int k = 0; k < size; k++) {
+				int i = (int) byWeight[k];
+				if (buffer.remaining() < RECORD_BYTES)
+					write(channel, buffer);
+				buffer.putInt(weights[i]).putInt(sources[i]).putInt(targets[i]);
+			}
+			write(channel, buffer);
+		} finally {
+			channel.close();
+		}
+		return run;
+	}
+
+	/**
+	* @return a new empty temporary file for a run
+	*/
+	private File newRun() throws IOException {
+		numRuns++;
+		return File.createTempFile("kruskal", ".run", tempDir);
+	}
+
+	/**
+	* merges runs into one longer run
+	* @return the new run
+	*/
+	private File mergeRuns(List<File> runs) throws IOException {
+		File merged = newRun();
+		FileChannel channel = FileChannel.open(merged.toPath(), StandardOpenOption.WRITE);
+		ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_BYTES);
+		PriorityQueue<RunReader> readers = open(runs);
+		try {
+			while (!readers.isEmpty()) {
+				RunReader reader = readers.remove();
+				if (buffer.remaining() < RECORD_BYTES)
+					write(channel, buffer);
+				buffer.putInt(reader.weight).putInt(reader.source).putInt(reader.target);
+				advance(reader, readers);
+			}
+			write(channel, buffer);
+		} finally {
+			for (RunReader reader : readers)
+				reader.close();
+			channel.close();
+		}
+		return merged;
+	}
+
+	/**
+	* @return readers of runs, each on its first edge, ordered by that edge's
+	* 	weight; empty runs are left out
+	*/
+	private PriorityQueue<RunReader> open(List<File> runs) throws IOException {
+		PriorityQueue<RunReader> readers = new PriorityQueue<RunReader>();
+		try {
+			for (File run : runs)
+				advance(new RunReader(run), readers);
+		} catch (IOException e) {
+			for (RunReader reader : readers)
+				reader.close();
+			throw e;
+		}
+		return readers;
+	}
+
+	/**
+	* moves reader to its next edge and puts it back in readers, or closes it
+	* if its run is used up
+	*/
+	private static void advance(RunReader reader, PriorityQueue<RunReader> readers)
+			throws IOException {
+		if (reader.next())
+			readers.add(reader);
+		else
+			reader.close();
+	}
+
+	/**
+	* writes out all of buffer and clears it
+	*/
+	private void write(FileChannel channel, ByteBuffer buffer) throws IOException {
+		buffer.flip();
+		while (buffer.hasRemaining())
+			bytesWritten += channel.write(buffer);
+		buffer.clear();
+	}
+
+	/**
+	* merges the runs, cheapest edge first, into Kruskal's algorithm
+	* @return the MST, or null if the edges do not connect every vertex
+	*/
+	private Set<Edge> kruskal(List<File> runs) throws IOException {
+		PriorityQueue<RunReader> readers = open(runs);
+		DisjointSets sets = new MyDisjSets(vertexArray.length);
+		Set<Edge> mst = new HashSet<Edge>();
+		try {
+			// stop as soon as the tree is whole; the rest of the runs need not be read
+			while (mst.size() < vertexArray.length - 1 && !readers.isEmpty()) {
+				RunReader reader = readers.remove();
+				int a = sets.find(reader.source);
+				int b = sets.find(reader.target);
+				if (a != b) {
+					sets.union(a, b);
+					mst.add(new Edge(vertexArray[reader.source], vertexArray[reader.target],
+							reader.weight));
+				}
+				advance(reader, readers);
+			}
+		} finally {
+			for (RunReader reader : readers)
+				reader.close();
+		}
+		return mst.size() == Math.max(vertexArray.length - 1, 0) ? mst : null;
+	}
+
+	/**
+	* Reads one sorted run a buffer at a time, ordered by its current edge's weight.
+	*/
+	private class RunReader implements Comparable<RunReader> {
+		private final FileChannel channel;
+		private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_BYTES);
+		private int weight; // the current edge
+		private int source;
+		private int target;
+
+		RunReader(File run) throws IOException {
+			channel = FileChannel.open(run.toPath(), StandardOpenOption.READ);
+			buffer.flip(); // empty, so the first next reads
+		}
+
+		/**
+		* moves to the next edge of the run
+		* @return false if there are no more
+		*/
+		boolean next() throws IOException {
+			if (buffer.remaining() < RECORD_BYTES) {
+				buffer.compact();
+				int read;
+				while (buffer.position() < RECORD_BYTES && (read = channel.read(buffer)) >= 0)
+					bytesRead += read;
+				buffer.flip();
+				if (buffer.remaining() < RECORD_BYTES)
+					return false;
+			}
+			weight = buffer.getInt();
+			source = buffer.getInt();
+			target = buffer.getInt();
+			return true;
+		}
+
+		void close() throws IOException {
+			channel.close();
+		}
+
+		public int compareTo(RunReader other) {
+			return weight < other.weight ? -1 : weight == other.weight ? 0 : 1;
+		}
+	}
+
+	/**
+	* Finds and prints an MST of a graph read from files, then reports on
+	* System.err how much was written, read and held.
+	*/
+	public static void main(String[] args) {
+		if (args.length < 2 || args.length > 4) {
+			System.err.println(
+					"USAGE: java ExternalKruskal <vertex_file> <edge_file> [run_size [temp_dir]]");
+			System.exit(1);
+		}
+		int runSize = args.length > 2 ? Integer.parseInt(args[2]) : 1 << 20;
+		File tempDir = args.length > 3 ? new File(args[3]) : null;
+		ExternalKruskal kruskal = new ExternalKruskal(MSTMain.readVertices(args[0]), runSize, tempDir);
+		try {
+			MSTMain.printMST(kruskal.mst(args[1]));
+		} catch (IOException e) {
+			System.err.println("I/O ERROR: " + e.getMessage());
+			System.exit(2);
+		}
+		System.err.println(kruskal.numRuns() + " runs, " + kruskal.bytesWritten() + " bytes written, "
+				+ kruskal.bytesRead() + " bytes read, peak heap " + kruskal.peakHeapBytes() + " bytes");
+	}
+}
@@ -1,4 +1,5 @@
 import java.util.*;
+import java.util.concurrent.*;
 import java.io.*;
 
 /**
@@ -7,16 +8,36 @@ import java.io.*;
 * FindPaths
 *
 * Driver program that reads in a graph and prompts user for shortests paths in the graph.
+* With -batch, instead answers every query in a file (or stdin) non-interactively;
+* adding -reorder first renumbers the vertices in reverse Cuthill-McKee order,
+* which costs a copy of the graph but can speed up long batches on large graphs.
 */
 
 public class FindPaths {
+	private static final int CHUNK_SIZE = 1 << 18; // queries held in memory at once in batch mode
+
 	public static void main(String[] args) {
-		if(args.length != 2) {
-			System.err.println("USAGE: java Paths <vertex_file> <edge_file>");
+		boolean batch = args.length > 2 && args[2].equals("-batch");
+		boolean reorder = batch && args.length > 3 && args[3].equals("-reorder");
+		int queryFile = reorder ? 4 : 3; // index of the query file argument, if any
+		if (args.length < 2 || (args.length > 2 && !batch) || args.length > queryFile + 1) {
+			System.err.println("USAGE: java Paths <vertex_file> <edge_file> [-batch [-reorder] [query_file]]");
 			System.exit(1);
 		}
 
 		MyGraph g = readGraph(args[0],args[1]);
+		if (batch) {
+			try {
+				// renumbering copies the graph, which only pays off over enough searches
+				runBatch(reorder ? g.reordered(VertexOrder.REVERSE_CUTHILL_MCKEE) : g,
+						args.length > queryFile ? new FileReader(args[queryFile])
+								: new InputStreamReader(System.in));
+			} catch (IOException e) {
+				System.err.println("I/O ERROR: " + e.getMessage());
+				System.exit(2);
+			}
+			return;
+		}
 		Scanner console = new Scanner(System.in);
 		Collection<Vertex> v = g.vertices();
       Collection<Edge> e = g.edges();
@@ -53,13 +74,133 @@ public class FindPaths {
 		if (path == null)
 			System.out.println("does not exist");
 		else {
-			String result = "";
-			for (Vertex v : path.vertices)
-				result += " " + v;
-			System.out.println(result.substring(1));
+			try {
+				path.write(System.out);
+			} catch (IOException e) { // PrintStream does not throw
+			}
+			System.out.println();
 			System.out.println(path.cost);
 		}
 	}
+
+	/**
+	* answers shortest path queries in bulk. Each input line holds a start and a
+	* destination label separated by whitespace. For each query prints one line
+	* "start TAB destination TAB cost TAB path", where path is the vertices of the
+	* path separated by spaces; cost is -1 and path is empty if there is no path
+	* or either vertex does not exist. Output is in input order. Queries are read
+	* in chunks; within a chunk queries sharing a start share one search, and the
+	* searches run in parallel. Reports throughput on System.err at the end.
+	* @param g the graph to query
+	* @param input the queries
+	* @throws IOException if reading the queries or writing the results fails
+	*/
+	public static void runBatch(final MyGraph g, Reader input) throws IOException {
+		long startTime = System.nanoTime();
+		BufferedReader in = new BufferedReader(input);
+		BufferedWriter out = new BufferedWriter(new OutputStreamWriter(System.out), 1 << 16);
+		final Collection<Vertex> vertices = g.vertices();
+		ExecutorService pool = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
+		long queries = 0;
+		long searches = 0;
+		try {
+			final String[] starts = new String[CHUNK_SIZE];
+			final String[] ends = new String[CHUNK_SIZE];
+			final Path[] results = new Path[CHUNK_SIZE];
+			int n;
+			while ((n = readChunk(in, starts, ends)) > 0) {
+				// group the chunk's queries by start so each start is searched once
+				Map<String, List<Integer>> bySource = new HashMap<String, List<Integer>>();
+				for (int i = 0; i < n; i++) {
+					List<Integer> group = bySource.get(starts[i]);
+					if (group == null) {
+						group = new ArrayList<Integer>();
+						bySource.put(starts[i], group);
+					}
+					group.add(i);
+				}
+				List<Future<?>> tasks = new ArrayList<Future<?>>();
+				for (final Map.Entry<String, List<Integer>> entry : bySource.entrySet()) {
+					tasks.add(pool.submit(new Runnable() {
+						public void run() {
+							answerGroup(g, vertices, entry.getKey(), entry.getValue(),
+									ends, results);
+						}
+					}));
+				}
+				for (Future<?> task : tasks)
+					task.get();
+				for (int i = 0; i < n; i++) {
+					out.write(starts[i]);
+					out.write('\t');
+					out.write(ends[i]);
+					out.write('\t');
+					if (results[i] == null)
+						out.write("-1\t");
+					else {
+						out.write(Integer.toString(results[i].cost));
+						out.write('\t');
+						results[i].write(out);
+					}
+					out.newLine();
+					results[i] = null;
+				}
+				queries += n;
+				searches += bySource.size();
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new InterruptedIOException("interrupted while answering queries");
+		} catch (ExecutionException e) {
+			throw new RuntimeException(e.getCause());
+		} finally {
+			pool.shutdown();
+			out.flush();
+		}
+		double seconds = (System.nanoTime() - startTime) / 1e9;
+		System.err.printf("%d queries, %d searches in %.3f s (%.0f queries/s)%n",
+				queries, searches, seconds, queries / Math.max(seconds, 1e-9));
+	}
+
+	/**
+	* reads up to starts.length queries
+	* @return the number of queries read; 0 at the end of input
+	*/
+	private static int readChunk(BufferedReader in, String[] starts, String[] ends) throws IOException {
+		int n = 0;
+		String line;
+		while (n < starts.length && (line = in.readLine()) != null) {
+			StringTokenizer tokens = new StringTokenizer(line);
+			if (!tokens.hasMoreTokens())
+				continue; // blank line
+			starts[n] = tokens.nextToken();
+			if (!tokens.hasMoreTokens()) {
+				System.err.println("QUERY FORMAT INCORRECT: " + line);
+				System.exit(3);
+			}
+			ends[n] = tokens.nextToken();
+			n++;
+		}
+		return n;
+	}
+
+	/**
+	* answers the queries at indexes group, which all start at the vertex labeled start,
+	* storing the paths found (null where there is none) in results
+	*/
+	private static void answerGroup(MyGraph g, Collection<Vertex> vertices, String start, List<Integer> group,
+			String[] ends, Path[] results) {
+		Vertex a = new Vertex(start);
+		boolean known = vertices.contains(a);
+		ShortestPathTree tree = known && group.size() > 1 ? g.shortestPathTree(a) : null;
+		for (int i : group) {
+			Vertex b = new Vertex(ends[i]);
+			Path path = null;
+			if (known && vertices.contains(b))
+				path = tree != null ? tree.pathTo(b) : g.shortestPath(a, b);
+			results[i] = path;
+		}
+	}
 	
 	/**
 	* reads a graph
@@ -0,0 +1,139 @@
+import java.util.*;
+/**
+* Minerva Chen, Max Peterson
+* 10/19/2026
+* Footprint
+*
+* An estimate of the heap a structure retains, in bytes, broken down by
+* component. Estimates assume a 64-bit JVM with compressed references (the
+* default below 32 GB of heap): 12-byte object headers, 4-byte references,
+* 16-byte array headers, and every object padded to a multiple of 8 bytes.
+* Objects shared with the caller, such as vertex labels given to a graph,
+* are counted by whoever holds them, as noted in each component's name.
+*/
+
+public class Footprint {
+	static final int OBJECT_HEADER = 12;
+	static final int ARRAY_HEADER = 16;
+	static final int REFERENCE = 4;
+	static final int HASH_NODE = 32; // HashMap.Node: header, hash, key, value, next
+	static final int BOXED_INT = 16; // an Integer outside the small cached range
+	static final int SMALL_OBJECT = 24; // a Vertex or SearchNode: header and two fields
+	private final String name;
+	private final Map<String, Long> components = new LinkedHashMap<String, Long>();
+
+	/**
+	* @param name what this is the footprint of
+	*/
+	public Footprint(String name) {
+		this.name = name;
+	}
+
+	/**
+	* adds bytes to a component, creating it if needed
+	* @param component what the bytes are for
+	* @param bytes the estimated bytes
+	* @return this footprint, so that adds can be chained
+	*/
+	public Footprint add(String component, long bytes) {
+		Long old = components.get(component);
+		components.put(component, old == null ? bytes : old + bytes);
+		return this;
+	}
+
+	/**
+	* adds every component of other to this one, named after other
+	* @return this footprint
+	*/
+	public Footprint add(Footprint other) {
+		for (String component : other.components.keySet())
+			add(other.name + ": " + component, other.components.get(component));
+		return this;
+	}
+
+	/**
+	* @return what this is the footprint of
+	*/
+	public String getName() {
+		return name;
+	}
+
+	/**
+	* @return each component and its estimated bytes, in the order they were added
+	*/
+	public Map<String, Long> getComponents() {
+		return Collections.unmodifiableMap(components);
+	}
+
+	/**
+	* @return the estimated bytes of all the components
+	*/
+	public long total() {
+		long total = 0;
+		for (long bytes : components.values())
+			total += bytes;
+		return total;
+	}
+
+	/**
+	* @return the name, the total, and then each component on its own line
+	*/
+	public String toString() {
+		StringBuilder result = new StringBuilder(name + ": " + format(total()));
+		for (String component : components.keySet())
+			result.append("\n  ").append(component).append(": ").append(format(components.get(component)));
+		return result.toString();
+	}
+
+	/**
+	* @return bytes as a short human-readable amount
+	*/
+	static String format(long bytes) {
+		if (bytes < 1 << 10)
+			return bytes + " B";
+		String[] units = {"KB", "MB", "GB", "TB"};
+		double amount = bytes;
+		int unit = -1;
+		while (amount >= 1 << 10 && unit < units.length - 1) {
+			amount /= 1 << 10;
+			unit++;
+		}
+		return String.format("%.1f %s", amount, units[unit]);
+	}
+
+	/**
+	* @return the bytes an object takes with the given bytes of fields, padded
+	*/
+	static long object(long fieldBytes) {
+		return align(OBJECT_HEADER + fieldBytes);
+	}
+
+	/**
+	* @return the bytes an array of length elements of elementBytes each takes
+	*/
+	static long array(long length, int elementBytes) {
+		return align(ARRAY_HEADER + length * elementBytes);
+	}
+
+	/**
+	* @return the bytes a String of length Latin-1 characters takes, with its array
+	*/
+	static long string(long length) {
+		return object(REFERENCE + 4 + 2) + array(length, 1);
+	}
+
+	/**
+	* @return the bytes a HashMap with size entries takes, not counting its
+	* 	keys and values; the table is a power of two at most 3/4 full
+	*/
+	static long hashMap(long size) {
+		long table = 16;
+		while (table * 3 / 4 < size)
+			table *= 2;
+		return object(6 * 4 + 2 * REFERENCE) + array(table, REFERENCE) + size * HASH_NODE;
+	}
+
+	private static long align(long bytes) {
+		return (bytes + 7) & ~7L;
+	}
+}
@@ -0,0 +1,384 @@
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicReference;
+import java.io.*;
+import java.net.*;
+/**
+* Minerva Chen, Max Peterson
+* 10/19/2026
+* GraphServer
+*
+* A long-lived server that loads a graph once and answers shortest path,
+* distance and MST queries over a local socket. Each connection and each
+* request runs on its own thread: a virtual thread where the Java runtime has
+* them, otherwise a pooled one. Clients may pipeline, sending many requests
+* without waiting; every request starts at once and the answers go back in
+* the order the requests came. At most maxInFlight requests run at a time
+* across all connections, and a request gives its turn up as soon as its
+* answer is worked out. Each connection may also have at most maxPending
+* requests whose answers it has not yet been sent; past that, the server
+* stops reading its requests until it reads some answers, so a client that
+* floods requests without reading backs up into itself instead of into
+* memory or into other connections. RELOAD swaps in a new graph without
+* disturbing requests already running, which finish on the graph they
+* started with.
+*
+* Protocol: one request per line, each answered by zero or more lines and then END.
+*	PATH a b		"cost<tab>labels of the path" for the shortest path from a to b,
+*				or -1 if there is none
+*	DIST a b		the cost of the shortest path from a to b, or -1 if there is none
+*	MST			the cost of an MST, then one "source destination weight" line per
+*				edge of it; just -1 if there is no MST
+*	RELOAD v e		loads the graph in vertex file v and edge file e, and answers
+*				with its numbers of vertices and edges once later requests will use it
+*	QUIT			closes the connection
+* Errors are answered with a line starting with ERROR.
+*/
+
+public class GraphServer {
+	private final AtomicReference<Snapshot> snapshot; // the graph new requests use
+	private final Semaphore inFlight; // one permit per request that may run at once
+	private final int maxPending; // the most unsent answers one connection may have
+	private final ExecutorService executor;
+
+	/**
+	* @param graph the graph to serve
+	* @param maxInFlight the most requests to run at once, and the most
+	* 	unsent answers one connection may have
+	* @throws IllegalArgumentException if graph is null or maxInFlight is not positive
+	*/
+	public GraphServer(MyGraph graph, int maxInFlight) {
+		this(graph, maxInFlight, maxInFlight);
+	}
+
+	/**
+	* @param graph the graph to serve
+	* @param maxInFlight the most requests to run at once
+	* @param maxPending the most requests one connection may have sent whose
+	* 	answers it has not yet been sent
+	* @throws IllegalArgumentException if graph is null or maxInFlight or
+	* 	maxPending is not positive
+	*/
+	public GraphServer(MyGraph graph, int maxInFlight, int maxPending) {
+		if (graph == null)
+			throw new IllegalArgumentException("graph must not be null");
+		if (maxInFlight < 1)
+			throw new IllegalArgumentException("max in flight must be positive, not " + maxInFlight);
+		if (maxPending < 1)
+			throw new IllegalArgumentException("max pending must be positive, not " + maxPending);
+		snapshot = new AtomicReference<Snapshot>(new Snapshot(graph));
+		inFlight = new Semaphore(maxInFlight);
+		this.maxPending = maxPending;
+		executor = newExecutor();
+	}
+
+	/**
+	* @return an executor that starts a virtual thread per task if this Java
+	* 	has them, or else a cached thread pool
+	*/
+	private static ExecutorService newExecutor() {
+		try {
+			return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor")
+					.invoke(null);
+		} catch (ReflectiveOperationException e) { // before virtual threads
+			return Executors.newCachedThreadPool();
+		}
+	}
+
+	/**
+	* Makes graph the graph that requests from now on use. Requests already
+	* running finish on the graph they started with.
+	* @param graph the new graph
+	* @throws IllegalArgumentException if graph is null
+	*/
+	public void reload(MyGraph graph) {
+		if (graph == null)
+			throw new IllegalArgumentException("graph must not be null");
+		snapshot.set(new Snapshot(graph));
+	}
+
+	/**
+	* accepts connections until the server socket fails
+	* @param port the local port to listen on
+	* @throws IOException if the server socket fails
+	*/
+	public void serve(int port) throws IOException {
+		ServerSocket server = new ServerSocket(port, 50, InetAddress.getLoopbackAddress());
+		try {
+			while (true) {
+				final Socket socket = server.accept();
+				executor.execute(new Runnable() {
+					public void run() {
+						try {
+							serve(socket);
+						} catch (IOException e) { // the client went away
+						} finally {
+							try {
+								socket.close();
+							} catch (IOException e) {
+							}
+						}
+					}
+				});
+			}
+		} finally {
+			server.close();
+			executor.shutdown();
+		}
+	}
+
+	/**
+	* reads the requests of one connection, starting each as it arrives, while
+	* another thread writes the answers in order
+	*/
+	private void serve(final Socket socket) throws IOException {
+		BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream()));
+		final Writer out = new BufferedWriter(new OutputStreamWriter(socket.getOutputStream()));
+		// answers in request order; an answer of null means there are no more
+		final BlockingQueue<Future<String>> answers = new LinkedBlockingQueue<Future<String>>();
+		final Semaphore pending = new Semaphore(maxPending); // one permit per answer not yet sent
+		Future<?> writer = executor.submit(new Callable<Void>() {
+			public Void call() throws Exception {
+				writeAnswers(answers, pending, out, socket);
+				return null;
+			}
+		});
+		try {
+			String line;
+			while ((line = in.readLine()) != null) {
+				final String[] request = line.trim().split("\\s+");
+				if (request[0].equals("QUIT"))
+					break;
+				acquire(pending); // waits only on this client reading its answers
+				acquire(inFlight);
+				if (request[0].equals("RELOAD")) { // before reading on, so later requests see the new graph
+					try {
+						answers.add(completed(reload(request)));
+					} finally {
+						inFlight.release();
+					}
+					continue;
+				}
+				final Snapshot current = snapshot.get();
+				answers.add(executor.submit(new Callable<String>() {
+					public String call() {
+						try {
+							return answer(current, request);
+						} finally {
+							inFlight.release(); // the answer waits for its connection, not the server
+						}
+					}
+				}));
+			}
+		} finally {
+			answers.add(completed(null));
+			try {
+				writer.get();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			} catch (ExecutionException e) {
+				if (e.getCause() instanceof IOException)
+					throw (IOException) e.getCause();
+			}
+		}
+	}
+
+	/**
+	* writes each answer as it is ready, flushing whenever no answer is waiting,
+	* and lets the connection send another request for each one written. If
+	* anything goes wrong, closes the socket and gives the reader enough
+	* permits that it cannot wait on this writer, so that it runs into the
+	* closed socket and the connection ends.
+	*/
+	private void writeAnswers(BlockingQueue<Future<String>> answers, Semaphore pending, Writer out,
+			Socket socket) throws IOException, InterruptedException, ExecutionException {
+		boolean finished = false;
+		try {
+			while (true) {
+				Future<String> next = answers.poll();
+				if (next == null) {
+					out.flush();
+					next = answers.take();
+				}
+				String answer = next.get();
+				if (answer == null) {
+					out.flush();
+					finished = true;
+					return;
+				}
+				out.write(answer);
+				pending.release();
+			}
+		} finally {
+			if (!finished) {
+				try {
+					socket.close();
+				} catch (IOException e) {
+				}
+				pending.release(maxPending);
+			}
+		}
+	}
+
+	/**
+	* waits for a permit of permits
+	*/
+	private static void acquire(Semaphore permits) throws InterruptedIOException {
+		try {
+			permits.acquire();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new InterruptedIOException("interrupted while waiting to start a request");
+		}
+	}
+
+	/**
+	* @return a future that already holds value
+	*/
+	private static Future<String> completed(String value) {
+		FutureTask<String> future = new FutureTask<String>(new Runnable() {
+			public void run() {
+			}
+		}, value);
+		future.run();
+		return future;
+	}
+
+	/**
+	* @return the answer to RELOAD, including END
+	*/
+	private String reload(String[] request) {
+		if (request.length != 3)
+			return "ERROR bad request\nEND\n";
+		try {
+			MyGraph graph = readGraph(request[1], request[2]);
+			reload(graph);
+			return graph.vertices().size() + " " + graph.edges().size() + "\nEND\n";
+		} catch (IOException e) {
+			return "ERROR " + e + "\nEND\n";
+		} catch (RuntimeException e) {
+			return "ERROR " + e + "\nEND\n";
+		}
+	}
+
+	/**
+	* @return the answer to one request on the given snapshot, including END
+	*/
+	private static String answer(Snapshot current, String[] request) {
+		StringBuilder answer = new StringBuilder();
+		try {
+			String command = request[0];
+			MyGraph graph = current.graph;
+			if (command.equals("PATH") && request.length == 3) {
+				Path path = graph.shortestPath(new Vertex(request[1]), new Vertex(request[2]));
+				if (path == null)
+					answer.append(-1);
+				else {
+					answer.append(path.cost).append('\t');
+					path.write(answer);
+				}
+				answer.append('\n');
+			} else if (command.equals("DIST") && request.length == 3) {
+				Path path = graph.shortestPath(new Vertex(request[1]), new Vertex(request[2]));
+				answer.append(path == null ? -1 : path.cost).append('\n');
+			} else if (command.equals("MST") && request.length == 1)
+				answer.append(current.mst());
+			else
+				throw new IllegalArgumentException("bad request");
+		} catch (IOException e) { // StringBuilder does not throw
+		} catch (RuntimeException e) {
+			answer.setLength(0);
+			answer.append("ERROR ").append(e).append('\n');
+		}
+		return answer.append("END\n").toString();
+	}
+
+	/**
+	* reads a graph like FindPaths.readGraph, but reports problems by throwing
+	* instead of exiting
+	* @param vertexFile file name of vertices
+	* @param edgeFile file name of edges
+	* @return new MyGraph made of vertices and edges
+	* @throws IOException if a file cannot be read or the edge file is malformed
+	* @throws IllegalArgumentException if the edges are not allowed in a MyGraph
+	*/
+	public static MyGraph readGraph(String vertexFile, String edgeFile) throws IOException {
+		Collection<Vertex> v = new ArrayList<Vertex>();
+		Scanner s = new Scanner(new File(vertexFile));
+		while (s.hasNext())
+			v.add(new Vertex(s.next()));
+		s.close();
+		Collection<Edge> e = new ArrayList<Edge>();
+		s = new Scanner(new File(edgeFile));
+		try {
+			while (s.hasNext()) {
+				try {
+					e.add(new Edge(new Vertex(s.next()), new Vertex(s.next()), s.nextInt()));
+				} catch (NoSuchElementException e2) {
+					throw new IOException("edge file format incorrect");
+				}
+			}
+		} finally {
+			s.close();
+		}
+		return new MyGraph(v, e);
+	}
+
+	/**
+	* A graph being served and what has been worked out about it.
+	*/
+	private static class Snapshot {
+		private final MyGraph graph;
+		private volatile String mst; // the answer to MST, once asked
+
+		Snapshot(MyGraph graph) {
+			this.graph = graph;
+		}
+
+		/**
+		* @return the answer to MST, not including END; found the first time
+		*/
+		String mst() {
+			String answer = mst;
+			if (answer == null) {
+				Set<Edge> edges = graph.getMST();
+				StringBuilder builder = new StringBuilder();
+				if (edges == null)
+					builder.append(-1).append('\n');
+				else {
+					long cost = 0;
+					for (Edge edge : edges)
+						cost += edge.getWeight();
+					builder.append(cost).append('\n');
+					for (Edge edge : edges)
+						builder.append(edge.getSource()).append(' ').append(edge.getDestination())
+								.append(' ').append(edge.getWeight()).append('\n');
+				}
+				answer = builder.toString();
+				mst = answer; // two threads may both find it; either answer will do
+			}
+			return answer;
+		}
+	}
+
+	public static void main(String[] args) {
+		if (args.length < 2 || args.length > 4) {
+			System.err.println("USAGE: java GraphServer <vertex_file> <edge_file> [port [max_in_flight]]");
+			System.exit(1);
+		}
+		int port = args.length > 2 ? Integer.parseInt(args[2]) : 7300;
+		int maxInFlight = args.length > 3 ? Integer.parseInt(args[3])
+				: 4 * Runtime.getRuntime().availableProcessors();
+		try {
+			GraphServer server = new GraphServer(readGraph(args[0], args[1]), maxInFlight);
+			System.err.println("serving on port " + port);
+			server.serve(port);
+		} catch (FileNotFoundException e) {
+			System.err.println("FILE NOT FOUND: " + e.getMessage());
+			System.exit(2);
+		} catch (IOException e) {
+			System.err.println("I/O ERROR: " + e.getMessage());
+			System.exit(2);
+		}
+	}
+}
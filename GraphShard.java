@@ -0,0 +1,220 @@
+import java.util.*;
+import java.io.*;
+import java.net.*;
+/**
+* Minerva Chen, Max Peterson
+* 10/19/2026
+* GraphShard
+*
+* One process of a sharded graph. Vertices are split into numShards ranges
+* of consecutive ids (ids follow the order of the vertex file); a shard holds
+* the vertices of its range and the edges among them, and answers distance and
+* path questions about that piece for a ShardCoordinator over a local socket.
+* Edges leaving the shard are only passed on to the coordinator.
+*
+* Protocol: one request per line, each answered by zero or more lines and then END.
+*	CROSS			the edges leaving this shard, one "source target weight" per line
+*	BOUNDARY b1 b2 ...	sets this shard's boundary vertices (those with an edge to or
+*				from another shard) and answers "b1 b2 cost" for every pair
+*				of boundary vertices connected inside the shard
+*	FROM s t		first the cost from s to t inside the shard (-1 if there is no
+*				such path or t is in another shard), then "b cost" for every
+*				boundary vertex reachable from s
+*	TO t			"b cost" for every boundary vertex that can reach t
+*	PATH a b		the labels of the cheapest path from a to b inside the shard
+*	QUIT			closes the connection
+* Errors are answered with a line starting with ERROR.
+*/
+
+public class GraphShard {
+	private final MyGraph graph; // this shard's vertices and the edges among them
+	// "source target" -> weight, for each edge leaving the shard
+	private final Map<String, Integer> crossEdges = new LinkedHashMap<String, Integer>();
+	private List<Vertex> boundary = new ArrayList<Vertex>();
+
+	/**
+	* loads this shard's part of a graph
+	* @param vertexFile file name of vertices
+	* @param edgeFile file name of edges
+	* @param numShards the number of shards the graph is split into
+	* @param shard which shard this is, from 0 to numShards - 1
+	* @throws FileNotFoundException if either file does not exist
+	* @throws IllegalArgumentException if the edge file is malformed or the
+	* 	edges are not allowed in a MyGraph, including edges leaving the shard
+	*/
+	public GraphShard(String vertexFile, String edgeFile, int numShards, int shard)
+			throws FileNotFoundException {
+		Map<String, Integer> ids = readIds(vertexFile);
+		Collection<Vertex> v = new ArrayList<Vertex>();
+		for (String label : ids.keySet())
+			if (shardOf(ids.get(label), ids.size(), numShards) == shard)
+				v.add(new Vertex(label));
+		Collection<Edge> e = new ArrayList<Edge>();
+		Scanner s = new Scanner(new File(edgeFile));
+		while (s.hasNext()) {
+			String a, b;
+			int w;
+			try {
+				a = s.next();
+				b = s.next();
+				w = s.nextInt();
+			} catch (NoSuchElementException e2) {
+				throw new IllegalArgumentException("edge file format incorrect");
+			}
+			Integer source = ids.get(a);
+			Integer target = ids.get(b);
+			if (source == null || target == null)
+				throw new IllegalArgumentException("<" + a + ", " + b + ", " + w + "> either comes " +
+						"from or goes to a nonexistent vertex");
+			if (shardOf(source, ids.size(), numShards) != shard)
+				continue;
+			if (shardOf(target, ids.size(), numShards) == shard)
+				e.add(new Edge(new Vertex(a), new Vertex(b), w));
+			else if (w < 0)
+				throw new IllegalArgumentException("<" + a + ", " + b + ", " + w + "> has negative " +
+						"weight; not allowed");
+			else {
+				Integer old = crossEdges.put(a + " " + b, w);
+				if (old != null && old != w) // a duplicate is kept once, as in MyGraph
+					throw new IllegalArgumentException(new Edge(new Vertex(a), new Vertex(b), old)
+							+ " and " + new Edge(new Vertex(a), new Vertex(b), w)
+							+ " are the same except for their weights; not allowed.");
+			}
+		}
+		graph = new MyGraph(v, e);
+	}
+
+	/**
+	* @param id the id of a vertex (its position among the distinct labels of the vertex file)
+	* @param numVertices the number of vertices in the whole graph
+	* @param numShards the number of shards
+	* @return the shard the vertex belongs to
+	*/
+	static int shardOf(int id, int numVertices, int numShards) {
+		return (int) ((long) id * numShards / numVertices);
+	}
+
+	/**
+	* @param vertexFile file name of vertices
+	* @return each distinct label in the file mapped to its id, in file order
+	* @throws FileNotFoundException if the file does not exist
+	*/
+	static Map<String, Integer> readIds(String vertexFile) throws FileNotFoundException {
+		Map<String, Integer> ids = new LinkedHashMap<String, Integer>();
+		Scanner s = new Scanner(new File(vertexFile));
+		while (s.hasNext()) {
+			String label = s.next();
+			if (!ids.containsKey(label))
+				ids.put(label, ids.size());
+		}
+		return ids;
+	}
+
+	/**
+	* answers requests from one connection at a time, until a connection sends QUIT
+	* @param port the local port to listen on
+	* @throws IOException if the socket fails
+	*/
+	public void serve(int port) throws IOException {
+		ServerSocket server = new ServerSocket(port, 50, InetAddress.getLoopbackAddress());
+		try {
+			boolean quit = false;
+			while (!quit) {
+				Socket socket = server.accept();
+				try {
+					quit = serve(socket);
+				} finally {
+					socket.close();
+				}
+			}
+		} finally {
+			server.close();
+		}
+	}
+
+	/**
+	* @return true if the connection sent QUIT
+	*/
+	private boolean serve(Socket socket) throws IOException {
+		BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream()));
+		PrintWriter out = new PrintWriter(new BufferedWriter(new OutputStreamWriter(socket.getOutputStream())));
+		String line;
+		while ((line = in.readLine()) != null) {
+			String[] request = line.trim().split("\\s+");
+			if (request[0].equals("QUIT"))
+				return true;
+			try {
+				answer(request, out);
+			} catch (RuntimeException e) {
+				out.println("ERROR " + e);
+			}
+			out.println("END");
+			out.flush();
+		}
+		return false;
+	}
+
+	/**
+	* writes the answer to one request, not including END
+	*/
+	private void answer(String[] request, PrintWriter out) {
+		String command = request[0];
+		if (command.equals("CROSS")) {
+			for (Map.Entry<String, Integer> edge : crossEdges.entrySet())
+				out.println(edge.getKey() + " " + edge.getValue());
+		} else if (command.equals("BOUNDARY")) {
+			boundary = new ArrayList<Vertex>();
+			for (int i = 1; i < request.length; i++)
+				boundary.add(new Vertex(request[i]));
+			for (Vertex b : boundary) {
+				ShortestPathTree tree = graph.shortestPathTree(b);
+				for (Vertex other : boundary)
+					if (!other.equals(b) && tree.cost(other) >= 0)
+						out.println(b + " " + other + " " + tree.cost(other));
+			}
+		} else if (command.equals("FROM") && request.length == 3) {
+			ShortestPathTree tree = graph.shortestPathTree(new Vertex(request[1]));
+			Vertex end = new Vertex(request[2]);
+			out.println(graph.vertices().contains(end) ? tree.cost(end) : -1);
+			for (Vertex b : boundary)
+				if (tree.cost(b) >= 0)
+					out.println(b + " " + tree.cost(b));
+		} else if (command.equals("TO") && request.length == 2) {
+			int[] costs = new int[graph.vertices().size()];
+			int[] prev = new int[costs.length];
+			graph.dijkstra(graph.reverseAdjacency(), graph.getId(new Vertex(request[1])), -1, costs, prev,
+					PQStrategy.DHEAP);
+			for (Vertex b : boundary)
+				if (costs[graph.getId(b)] != Integer.MAX_VALUE)
+					out.println(b + " " + costs[graph.getId(b)]);
+		} else if (command.equals("PATH") && request.length == 3) {
+			Path path = graph.shortestPath(new Vertex(request[1]), new Vertex(request[2]));
+			if (path != null) {
+				try {
+					path.write(out);
+				} catch (IOException e) { // PrintWriter does not throw
+				}
+				out.println();
+			}
+		} else
+			throw new IllegalArgumentException("bad request");
+	}
+
+	public static void main(String[] args) {
+		if (args.length != 5) {
+			System.err.println("USAGE: java GraphShard <vertex_file> <edge_file> <num_shards> <shard> <port>");
+			System.exit(1);
+		}
+		try {
+			GraphShard shard = new GraphShard(args[0], args[1], Integer.parseInt(args[2]),
+					Integer.parseInt(args[3]));
+			shard.serve(Integer.parseInt(args[4]));
+		} catch (FileNotFoundException e) {
+			System.err.println("FILE NOT FOUND: " + e.getMessage());
+			System.exit(2);
+		} catch (IOException e) {
+			System.err.println("I/O ERROR: " + e.getMessage());
+			System.exit(2);
+		}
+	}
+}
@@ -0,0 +1,311 @@
+import java.util.*;
+import java.io.*;
+/**
+* Minerva Chen, Max Peterson
+* 10/19/2026
+* HubLabels
+*
+* A distance oracle for a MyGraph built by pruned landmark labeling. Every
+* vertex gets an out-label (hubs it reaches, with the cost) and an in-label
+* (hubs that reach it, with the cost), chosen so that every shortest path
+* from s to t passes through some hub in both s's out-label and t's in-label.
+* The cost from s to t is then the least sum over their common hubs, found by
+* merging the two labels, which are sorted by hub. Hubs are tried from the
+* highest degree down, with a Dijkstra search each way from every hub that
+* stops wherever the labels so far already give the right cost, which keeps
+* the labels small. Labels are stored in flat arrays and can be saved to a
+* file and loaded again. Immutable once built, so safe to share between threads.
+*/
+
+public class HubLabels {
+	private static final int MAGIC = 0x48554231; // "HUB1", at the start of saved labels
+	private final MyGraph graph;
+	private final int[] outOffsets; // the out-label of v is at outOffsets[v] to outOffsets[v + 1] - 1
+	private final int[] outHubs; // hub ranks, increasing within each label
+	private final int[] outCosts; // cost from the vertex to the hub
+	private final int[] inOffsets;
+	private final int[] inHubs;
+	private final int[] inCosts; // cost from the hub to the vertex
+	private final int[] hubVertex; // rank -> id of the vertex with that rank
+
+	/**
+	* Builds the labels of graph. Takes far longer than one shortestPath, so is
+	* for graphs that will be asked many costs.
+	* @param graph the graph to label
+	* @throws IllegalArgumentException if graph is null
+	*/
+	public HubLabels(MyGraph graph) {
+		if (graph == null)
+			throw new IllegalArgumentException("graph must not be null");
+		this.graph = graph;
+		Adjacency out = graph.adjacency();
+		Adjacency in = graph.reverseAdjacency();
+		int n = out.numVertices();
+		hubVertex = rankByDegree(out, in);
+		Label[] outLabels = new Label[n];
+		Label[] inLabels = new Label[n];
+		for (int v = 0; v < n; v++) {
+			outLabels[v] = new Label();
+			inLabels[v] = new Label();
+		}
+		PrunedSearch search = new PrunedSearch(n);
+		for (int rank = 0; rank < n; rank++) {
+			int hub = hubVertex[rank];
+			// forward: hub reaches each vertex found, so the hub joins its in-label
+			search.run(out, hub, rank, outLabels[hub], inLabels);
+			// backward: each vertex found reaches hub, so the hub joins its out-label
+			search.run(in, hub, rank, inLabels[hub], outLabels);
+		}
+		outOffsets = new int[n + 1];
+		inOffsets = new int[n + 1];
+		outHubs = flatten(outLabels, outOffsets, true);
+		outCosts = flatten(outLabels, outOffsets, false);
+		inHubs = flatten(inLabels, inOffsets, true);
+		inCosts = flatten(inLabels, inOffsets, false);
+	}
+
+	private HubLabels(MyGraph graph, int[] hubVertex, int[] outOffsets, int[] outHubs,
+			int[] outCosts, int[] inOffsets, int[] inHubs, int[] inCosts) {
+		this.graph = graph;
+		this.hubVertex = hubVertex;
+		this.outOffsets = outOffsets;
+		this.outHubs = outHubs;
+		this.outCosts = outCosts;
+		this.inOffsets = inOffsets;
+		this.inHubs = inHubs;
+		this.inCosts = inCosts;
+	}
+
+	/**
+	* Returns the cost of the shortest path from start to end, the same as
+	* shortestPath(start, end).cost, in time proportional to the sizes of the
+	* two labels rather than to the size of the graph.
+	* @param start the starting vertex
+	* @param end the destination vertex
+	* @return the cost of the shortest path, or -1 if end is not reachable from start
+	* @throws NoSuchElementException if start or end does not exist.
+	*/
+	public int distance(Vertex start, Vertex end) {
+		long cost = merge(graph.getId(start), graph.getId(end));
+		return cost == Long.MAX_VALUE ? -1 : (int) cost;
+	}
+
+	/**
+	* @return the average number of hubs in a label, out-labels and in-labels alike
+	*/
+	public double averageLabelSize() {
+		int n = hubVertex.length;
+		return n == 0 ? 0 : (outHubs.length + inHubs.length) / (2.0 * n);
+	}
+
+	/**
+	* @return the least cost through a hub in both a's out-label and b's
+	* 	in-label, or Long.MAX_VALUE if they share no hub
+	*/
+	private long merge(int a, int b) {
+		long best = Long.MAX_VALUE;
+		int i = outOffsets[a];
+		int j = inOffsets[b];
+		int iEnd = outOffsets[a + 1];
+		int jEnd = inOffsets[b + 1];
+		while (i < iEnd && j < jEnd) {
+			if (outHubs[i] < inHubs[j])
+				i++;
+			else if (outHubs[i] > inHubs[j])
+				j++;
+			else {
+				best = Math.min(best, (long) outCosts[i] + inCosts[j]);
+				i++;
+				j++;
+			}
+		}
+		return best;
+	}
+
+	/**
+	* Writes the labels to a file, to be read back by load.
+	* @param file the name of the file
+	* @throws IOException if writing fails
+	*/
+	public void save(String file) throws IOException {
+		DataOutputStream out = new DataOutputStream(new BufferedOutputStream(
+				new FileOutputStream(file), 1 << 16));
+		try {
+			out.writeInt(MAGIC);
+			writeArray(out, hubVertex);
+			writeArray(out, outOffsets);
+			writeArray(out, outHubs);
+			writeArray(out, outCosts);
+			writeArray(out, inOffsets);
+			writeArray(out, inHubs);
+			writeArray(out, inCosts);
+		} finally {
+			out.close();
+		}
+	}
+
+	/**
+	* Reads labels written by save.
+	* @param file the name of the file
+	* @param graph the graph the labels were built for; its vertex ids must be
+	* 	the same as when they were built
+	* @return the labels
+	* @throws IOException if reading fails or the file does not hold labels
+	* 	for a graph with as many vertices as graph
+	*/
+	public static HubLabels load(String file, MyGraph graph) throws IOException {
+		DataInputStream in = new DataInputStream(new BufferedInputStream(
+				new FileInputStream(file), 1 << 16));
+		try {
+			if (in.readInt() != MAGIC)
+				throw new IOException(file + " does not hold hub labels");
+			int[] hubVertex = readArray(in);
+			if (hubVertex.length != graph.vertices().size())
+				throw new IOException(file + " holds labels for " + hubVertex.length
+						+ " vertices, not " + graph.vertices().size());
+			return new HubLabels(graph, hubVertex, readArray(in), readArray(in), readArray(in),
+					readArray(in), readArray(in), readArray(in));
+		} finally {
+			in.close();
+		}
+	}
+
+	private static void writeArray(DataOutputStream out, int[] array) throws IOException {
+		out.writeInt(array.length);
+		for (int value : array)
+			out.writeInt(value);
+	}
+
+	private static int[] readArray(DataInputStream in) throws IOException {
+		int[] array = new int[in.readInt()];
+		for (int i = 0; i < array.length; i++)
+			array[i] = in.readInt();
+		return array;
+	}
+
+	/**
+	* @return the vertex ids from highest to lowest total degree
+	*/
+	private static int[] rankByDegree(Adjacency out, Adjacency in) {
+		int n = out.numVertices();
+		long[] byDegree = new long[n];
+		for (int v = 0; v < n; v++) // negated so the highest degree sorts first
+			byDegree[v] = (long) -(out.degree(v) + in.degree(v)) << 32 | v;
+		Arrays.sort(byDegree);
+		int[] order = new int[n];
+		for (int i = 0; i < n; i++)
+			order[i] = (int) byDegree[i];
+		return order;
+	}
+
+	/**
+	* copies either the hubs or the costs of every label into one array
+	* @param offsets filled with where each vertex's label starts
+	*/
+	private static int[] flatten(Label[] labels, int[] offsets, boolean hubs) {
+		for (int v = 0; v < labels.length; v++)
+			offsets[v + 1] = offsets[v] + labels[v].size;
+		int[] flat = new int[offsets[labels.length]];
+		for (int v = 0; v < labels.length; v++)
+			System.arraycopy(hubs ? labels[v].hubs : labels[v].costs, 0, flat, offsets[v],
+					labels[v].size);
+		return flat;
+	}
+
+	/**
+	* A label while it is being built. Hubs are added in increasing rank, so
+	* it stays sorted.
+	*/
+	private static class Label {
+		private int[] hubs = new int[4];
+		private int[] costs = new int[4];
+		private int size;
+
+		void add(int hub, int cost) {
+			if (size == hubs.length) {
+				hubs = Arrays.copyOf(hubs, 2 * size);
+				costs = Arrays.copyOf(costs, 2 * size);
+			}
+			hubs[size] = hub;
+			costs[size] = cost;
+			size++;
+		}
+	}
+
+	/**
+	* Scratch space for the pruned searches, kept between them so that each
+	* costs time proportional to the vertices it touches rather than to V.
+	*/
+	private static class PrunedSearch {
+		private final int[] cost;
+		private final boolean[] reached;
+		private final int[] touched; // the vertices reached, to reset afterwards
+		private final int[] hubCost; // hub rank -> cost between the search's hub and it, by its label
+		private int numTouched;
+
+		PrunedSearch(int n) {
+			cost = new int[n];
+			reached = new boolean[n];
+			touched = new int[n];
+			hubCost = new int[n];
+			Arrays.fill(hubCost, Integer.MAX_VALUE);
+		}
+
+		/**
+		* Dijkstra's algorithm from hub over adjacency, adding hub to the label
+		* of each vertex found unless the labels so far already give a path
+		* at least as cheap, in which case the search goes no further there.
+		* @param hubLabel the label of hub on the side the search starts from
+		* @param labels the labels on the side the search reaches
+		*/
+		void run(Adjacency adjacency, int hub, int rank, Label hubLabel, Label[] labels) {
+			for (int i = 0; i < hubLabel.size; i++)
+				hubCost[hubLabel.hubs[i]] = hubLabel.costs[i];
+			DHeap<SearchNode> pq = new DHeap<SearchNode>(4);
+			Adjacency.Cursor cursor = adjacency.cursor();
+			reach(hub, 0);
+			pq.insert(new SearchNode(hub, 0));
+			while (!pq.isEmpty()) {
+				int current = pq.deleteMin().getId();
+				if (covered(labels[current], cost[current]))
+					continue; // an earlier hub is on a path this cheap
+				labels[current].add(rank, cost[current]);
+				for (cursor.reset(current); cursor.next(); ) {
+					int target = cursor.target();
+					int newCost = cost[current] + cursor.weight();
+					if (!reached[target]) {
+						reach(target, newCost);
+						pq.insert(new SearchNode(target, newCost));
+					} else if (newCost < cost[target] && pq.contains(new SearchNode(target, 0))) {
+						cost[target] = newCost;
+						pq.decreaseKey(new SearchNode(target, 0), newCost);
+					}
+				}
+			}
+			for (int i = 0; i < hubLabel.size; i++)
+				hubCost[hubLabel.hubs[i]] = Integer.MAX_VALUE;
+			for (int i = 0; i < numTouched; i++)
+				reached[touched[i]] = false;
+			numTouched = 0;
+		}
+
+		/**
+		* @return true if some hub in both label and the search hub's label
+		* 	joins them at no more than cost
+		*/
+		private boolean covered(Label label, int cost) {
+			for (int i = 0; i < label.size; i++) {
+				int toHub = hubCost[label.hubs[i]];
+				if (toHub != Integer.MAX_VALUE && (long) toHub + label.costs[i] <= cost)
+					return true;
+			}
+			return false;
+		}
+
+		private void reach(int v, int newCost) {
+			reached[v] = true;
+			cost[v] = newCost;
+			touched[numTouched++] = v;
+		}
+	}
+}
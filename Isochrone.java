@@ -0,0 +1,230 @@
+import java.util.*;
+/**
+* Minerva Chen, Max Peterson
+* 10/19/2026
+* Isochrone
+*
+* The vertices reachable from a start within a budget, and the cost of the
+* cheapest path to each: a service area. Found by a Dijkstra search that only
+* holds vertices it has reached and stops once the cheapest one left costs
+* more than the budget, so a small area is found in time and memory
+* proportional to its own size rather than the graph's. The result is kept
+* in primitive arrays with an open-addressing table from vertex id to slot.
+*/
+
+public class Isochrone {
+	private static final int MIN_CAPACITY = 16;
+	private final MyGraph graph;
+	private final int start; // id of the start vertex
+	private final int budget;
+	private final int[] ids; // ids of the vertices within budget, cheapest first
+	private final int[] costs; // cost from start of each, parallel to ids
+	private final IdTable slots; // vertex id -> index into ids
+
+	/**
+	* runs the search
+	* @param graph the graph to search
+	* @param start the id of the vertex to search from
+	* @param budget the greatest cost to include, at least 0
+	*/
+	Isochrone(MyGraph graph, int start, int budget) {
+		this.graph = graph;
+		this.start = start;
+		this.budget = budget;
+		Adjacency adjacency = graph.adjacency();
+		// the search numbers vertices in the order it reaches them
+		IdTable reached = new IdTable(MIN_CAPACITY);
+		int[] reachedIds = new int[MIN_CAPACITY];
+		int[] tentative = new int[MIN_CAPACITY]; // cheapest cost found so far
+		boolean[] settled = new boolean[MIN_CAPACITY];
+		int numReached = 1;
+		reached.put(start, 0);
+		reachedIds[0] = start;
+		int[] foundIds = new int[MIN_CAPACITY];
+		int[] foundCosts = new int[MIN_CAPACITY];
+		int numFound = 0;
+		DHeap<SearchNode> pq = new DHeap<SearchNode>(4);
+		SearchNode[] keys = new SearchNode[MIN_CAPACITY]; // for finding each reached vertex in pq
+		keys[0] = new SearchNode(0, 0);
+		pq.insert(keys[0]);
+		Adjacency.Cursor cursor = adjacency.cursor();
+		while (!pq.isEmpty()) {
+			SearchNode min = pq.deleteMin();
+			int cost = min.getCost();
+			if (cost > budget)
+				break; // everything left costs more
+			settled[min.getId()] = true;
+			int v = reachedIds[min.getId()];
+			if (numFound == foundIds.length) {
+				foundIds = Arrays.copyOf(foundIds, 2 * numFound);
+				foundCosts = Arrays.copyOf(foundCosts, 2 * numFound);
+			}
+			foundIds[numFound] = v;
+			foundCosts[numFound++] = cost;
+			for (cursor.reset(v); cursor.next(); ) {
+				if (cursor.weight() > budget - cost)
+					continue; // over budget; also keeps the sum from overflowing
+				int targetCost = cost + cursor.weight();
+				int local = reached.get(cursor.target());
+				if (local == -1) {
+					if (numReached == reachedIds.length) {
+						reachedIds = Arrays.copyOf(reachedIds, 2 * numReached);
+						tentative = Arrays.copyOf(tentative, 2 * numReached);
+						settled = Arrays.copyOf(settled, 2 * numReached);
+						keys = Arrays.copyOf(keys, 2 * numReached);
+					}
+					local = numReached++;
+					reached.put(cursor.target(), local);
+					reachedIds[local] = cursor.target();
+					tentative[local] = targetCost;
+					keys[local] = new SearchNode(local, targetCost);
+					pq.insert(keys[local]);
+				} else if (!settled[local] && targetCost < tentative[local]) {
+					tentative[local] = targetCost;
+					pq.decreaseKey(keys[local], targetCost);
+				}
+			}
+		}
+		ids = Arrays.copyOf(foundIds, numFound);
+		costs = Arrays.copyOf(foundCosts, numFound);
+		slots = new IdTable(numFound);
+		for (int i = 0; i < numFound; i++)
+			slots.put(ids[i], i);
+	}
+
+	/**
+	* @return the vertex the search started from
+	*/
+	public Vertex getStart() {
+		return graph.getVertex(start);
+	}
+
+	/**
+	* @return the greatest cost included
+	*/
+	public int getBudget() {
+		return budget;
+	}
+
+	/**
+	* @return the number of vertices within budget, counting the start
+	*/
+	public int size() {
+		return ids.length;
+	}
+
+	/**
+	* @param v a vertex
+	* @return true if the cheapest path from start to v costs at most the budget
+	* @throws NoSuchElementException if v does not exist.
+	*/
+	public boolean contains(Vertex v) {
+		return slots.get(graph.getId(v)) != -1;
+	}
+
+	/**
+	* @param v a vertex
+	* @return the cost of the cheapest path from start to v, or -1 if it costs
+	* 	more than the budget or there is none
+	* @throws NoSuchElementException if v does not exist.
+	*/
+	public int cost(Vertex v) {
+		int slot = slots.get(graph.getId(v));
+		return slot == -1 ? -1 : costs[slot];
+	}
+
+	/**
+	* @param i an index from 0 to size() - 1
+	* @return the id of the i'th cheapest vertex within budget
+	* @throws IndexOutOfBoundsException if i is out of range
+	*/
+	public int idAt(int i) {
+		return ids[i];
+	}
+
+	/**
+	* @param i an index from 0 to size() - 1
+	* @return the cost from start of the i'th cheapest vertex within budget
+	* @throws IndexOutOfBoundsException if i is out of range
+	*/
+	public int costAt(int i) {
+		return costs[i];
+	}
+
+	/**
+	* @return the vertices within budget, cheapest first
+	*/
+	public List<Vertex> vertices() {
+		List<Vertex> vertices = new ArrayList<Vertex>(ids.length);
+		for (int id : ids)
+			vertices.add(graph.getVertex(id));
+		return vertices;
+	}
+
+	/**
+	* A map from vertex ids to nonnegative ints, by linear probing in one array
+	* of key, value pairs kept at most half full.
+	*/
+	private static final class IdTable {
+		private int[] entries; // key at 2i, value at 2i + 1; key -1 if empty
+		private int size;
+
+		/**
+		* @param expected how many keys will be put, so the table need not grow
+		*/
+		IdTable(int expected) {
+			entries = new int[2 * tableSize(expected)];
+			Arrays.fill(entries, -1);
+		}
+
+		/**
+		* @return a power of two at least twice expected
+		*/
+		private static int tableSize(int expected) {
+			return Math.max(MIN_CAPACITY, Integer.highestOneBit(Math.max(1, expected) * 2 - 1) * 2);
+		}
+
+		/**
+		* @return the value of key, or -1 if it has none
+		*/
+		int get(int key) {
+			int mask = entries.length / 2 - 1;
+			for (int i = hash(key) & mask; ; i = (i + 1) & mask) {
+				if (entries[2 * i] == key)
+					return entries[2 * i + 1];
+				if (entries[2 * i] == -1)
+					return -1;
+			}
+		}
+
+		/**
+		* sets the value of a key that has none
+		*/
+		void put(int key, int value) {
+			if (2 * (size + 1) > entries.length / 2) {
+				int[] old = entries;
+				entries = new int[2 * old.length];
+				Arrays.fill(entries, -1);
+				size = 0;
+				for (int i = 0; i < old.length; i += 2)
+					if (old[i] != -1)
+						put(old[i], old[i + 1]);
+			}
+			int mask = entries.length / 2 - 1;
+			int i = hash(key) & mask;
+			while (entries[2 * i] != -1)
+				i = (i + 1) & mask;
+			entries[2 * i] = key;
+			entries[2 * i + 1] = value;
+			size++;
+		}
+
+		/**
+		* @return key with its bits mixed, so that nearby ids spread out
+		*/
+		private static int hash(int key) {
+			int h = key * 0x9E3779B9;
+			return h ^ (h >>> 16);
+		}
+	}
+}
@@ -0,0 +1,295 @@
+import java.util.*;
+import java.util.concurrent.*;
+/**
+* Minerva Chen, Max Peterson
+* 10/19/2026
+* KShortestPaths
+*
+* Yen's algorithm for the k cheapest loopless paths between two vertices.
+* One Dijkstra search backwards from the destination gives the exact cost
+* from every vertex to the destination. All spur searches share it: a spur
+* vertex whose cheapest path in that reverse tree avoids everything blocked
+* needs no search at all, and otherwise the costs guide an A* search. The
+* spur searches of one iteration are independent and run in parallel.
+*/
+
+class KShortestPaths {
+	private static final int MIN_PARALLEL_SPURS = 4; // fewer spur searches than this run inline
+	private final MyGraph graph;
+	private final Adjacency adjacency;
+	private final int start;
+	private final int end;
+	private final int[] toEnd; // id -> cost of the cheapest path to end, Integer.MAX_VALUE if none
+	private final int[] nextToEnd; // id -> next vertex on that path, or -1
+	private final Queue<SpurSearch> idleSearches = new ConcurrentLinkedQueue<SpurSearch>();
+
+	/**
+	* Runs the backwards search from end.
+	* @param graph the graph to search
+	* @param start the id of the starting vertex
+	* @param end the id of the destination vertex
+	*/
+	KShortestPaths(MyGraph graph, int start, int end) {
+		this.graph = graph;
+		this.adjacency = graph.adjacency();
+		this.start = start;
+		this.end = end;
+		int n = adjacency.numVertices();
+		toEnd = new int[n];
+		nextToEnd = new int[n];
+		graph.dijkstra(graph.reverseAdjacency(), end, -1, toEnd, nextToEnd, PQStrategy.DHEAP);
+	}
+
+	/**
+	* @param k the most paths to find
+	* @return up to k loopless paths from start to end, cheapest first
+	*/
+	List<Path> find(int k) {
+		List<Path> paths = new ArrayList<Path>();
+		if (toEnd[start] == Integer.MAX_VALUE)
+			return paths;
+		final List<Route> found = new ArrayList<Route>();
+		PriorityQueue<Route> candidates = new PriorityQueue<Route>();
+		Set<Route> seen = new HashSet<Route>(); // everything found or a candidate
+		Route first = new Route(treePath(new int[0], start), adjacency);
+		found.add(first);
+		seen.add(first);
+		while (found.size() < k) {
+			final Route last = found.get(found.size() - 1);
+			List<Callable<Route>> spurs = new ArrayList<Callable<Route>>();
+			for (int i = 0; i < last.ids.length - 1; i++) {
+				final int spurIndex = i;
+				spurs.add(new Callable<Route>() {
+					public Route call() {
+						return spur(last, spurIndex, found);
+					}
+				});
+			}
+			for (Route route : runAll(spurs))
+				if (route != null && seen.add(route))
+					candidates.add(route);
+			if (candidates.isEmpty())
+				break; // there are no more loopless paths
+			found.add(candidates.remove());
+		}
+		for (Route route : found)
+			paths.add(graph.makePath(route.ids, route.cost));
+		return paths;
+	}
+
+	/**
+	* @return the results of the tasks, in order, run in parallel if there
+	* 	are enough of them to be worth it
+	*/
+	private List<Route> runAll(List<Callable<Route>> tasks) {
+		List<Route> results = new ArrayList<Route>();
+		try {
+			if (tasks.size() < MIN_PARALLEL_SPURS) {
+				for (Callable<Route> task : tasks)
+					results.add(task.call());
+			} else {
+				for (Future<Route> result : ForkJoinPool.commonPool().invokeAll(tasks))
+					results.add(result.get());
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("interrupted while finding paths");
+		} catch (ExecutionException e) {
+			throw new IllegalStateException(e.getCause());
+		} catch (Exception e) { // Callable.call declares Exception; spur does not throw
+			throw new IllegalStateException(e);
+		}
+		return results;
+	}
+
+	/**
+	* Finds the cheapest path that follows last up to its spurIndex'th vertex
+	* (the spur), then leaves it by an edge that no found path with the same
+	* start takes, without revisiting any earlier vertex of last.
+	* @return the path, or null if there is none
+	*/
+	private Route spur(Route last, int spurIndex, List<Route> found) {
+		SpurSearch search = idleSearches.poll();
+		if (search == null)
+			search = new SpurSearch(adjacency.numVertices());
+		try {
+			int spur = last.ids[spurIndex];
+			search.beginSpur();
+			for (int i = 0; i < spurIndex; i++)
+				search.blockVertex(last.ids[i]);
+			for (Route route : found)
+				if (route.ids.length > spurIndex + 1 && route.startsWith(last, spurIndex))
+					search.blockEdgeTo(route.ids[spurIndex + 1]);
+			int[] root = Arrays.copyOf(last.ids, spurIndex);
+			int[] path = treePath(root, spur);
+			if (!search.allows(path, spurIndex))
+				path = search.aStar(root, spur);
+			return path == null ? null : new Route(path, adjacency);
+		} finally {
+			idleSearches.add(search);
+		}
+	}
+
+	/**
+	* @param root vertices to put before the path
+	* @param from a vertex that can reach end
+	* @return root followed by the cheapest path from from to end in the reverse tree
+	*/
+	private int[] treePath(int[] root, int from) {
+		int length = root.length;
+		for (int v = from; v != -1; v = nextToEnd[v])
+			length++;
+		int[] path = Arrays.copyOf(root, length);
+		int i = root.length;
+		for (int v = from; v != -1; v = nextToEnd[v])
+			path[i++] = v;
+		return path;
+	}
+
+	/**
+	* Scratch space for spur searches, kept between searches so that each one
+	* costs time proportional to the vertices it touches rather than to V.
+	* Stamps mark which entries belong to the current search.
+	*/
+	private class SpurSearch {
+		private final int[] cost; // cost from the spur
+		private final int[] prev;
+		private final int[] reached; // stamp when cost was first set
+		private final int[] done; // stamp when the cheapest path became known
+		private final int[] blocked; // stamp when blocked as part of the root
+		private final List<Integer> blockedEdges = new ArrayList<Integer>(); // targets not to take from the spur
+		private int stamp;
+
+		SpurSearch(int n) {
+			cost = new int[n];
+			prev = new int[n];
+			reached = new int[n];
+			done = new int[n];
+			blocked = new int[n];
+		}
+
+		void beginSpur() {
+			if (stamp == Integer.MAX_VALUE) {
+				Arrays.fill(reached, 0);
+				Arrays.fill(done, 0);
+				Arrays.fill(blocked, 0);
+				stamp = 0;
+			}
+			stamp++;
+			blockedEdges.clear();
+		}
+
+		void blockVertex(int v) {
+			blocked[v] = stamp;
+		}
+
+		void blockEdgeTo(int target) {
+			blockedEdges.add(target);
+		}
+
+		/**
+		* @return true if path, from its spurIndex'th vertex on, uses no blocked
+		* 	vertex and does not leave the spur by a blocked edge
+		*/
+		boolean allows(int[] path, int spurIndex) {
+			if (blockedEdges.contains(path[spurIndex + 1]))
+				return false;
+			for (int i = spurIndex + 1; i < path.length; i++)
+				if (blocked[path[i]] == stamp)
+					return false;
+			return true;
+		}
+
+		/**
+		* A* search from spur to end avoiding the blocked vertices and edges.
+		* The costs to end never overestimate and are consistent, even with
+		* edges blocked, so each vertex is final once it leaves the heap.
+		* @return root followed by the path from spur to end, or null if there is none
+		*/
+		int[] aStar(int[] root, int spur) {
+			DHeap<SearchNode> pq = new DHeap<SearchNode>(2);
+			Adjacency.Cursor cursor = adjacency.cursor();
+			reach(spur, 0, -1);
+			pq.insert(new SearchNode(spur, toEnd[spur]));
+			while (!pq.isEmpty()) {
+				int current = pq.deleteMin().getId();
+				done[current] = stamp;
+				if (current == end)
+					return spurPath(root, spur);
+				for (cursor.reset(current); cursor.next(); ) {
+					int target = cursor.target();
+					if (blocked[target] == stamp || done[target] == stamp
+							|| toEnd[target] == Integer.MAX_VALUE
+							|| (current == spur && blockedEdges.contains(target)))
+						continue;
+					int newCost = cost[current] + cursor.weight();
+					if (reached[target] != stamp) {
+						reach(target, newCost, current);
+						pq.insert(new SearchNode(target, newCost + toEnd[target]));
+					} else if (newCost < cost[target]) {
+						reach(target, newCost, current);
+						pq.decreaseKey(new SearchNode(target, 0), newCost + toEnd[target]);
+					}
+				}
+			}
+			return null;
+		}
+
+		private void reach(int v, int newCost, int from) {
+			reached[v] = stamp;
+			cost[v] = newCost;
+			prev[v] = from;
+		}
+
+		private int[] spurPath(int[] root, int spur) {
+			int length = root.length + 1;
+			for (int v = end; v != spur; v = prev[v])
+				length++;
+			int[] path = Arrays.copyOf(root, length);
+			for (int v = end, i = length - 1; i >= root.length; v = prev[v])
+				path[i--] = v;
+			return path;
+		}
+	}
+
+	/**
+	* A path as vertex ids, ordered by cost. Two routes are equal if they
+	* visit the same vertices in the same order.
+	*/
+	private static class Route implements Comparable<Route> {
+		private final int[] ids;
+		private final int cost;
+
+		Route(int[] ids, Adjacency adjacency) {
+			this.ids = ids;
+			int cost = 0;
+			for (int i = 0; i < ids.length - 1; i++)
+				cost += adjacency.weight(ids[i], ids[i + 1]);
+			this.cost = cost;
+		}
+
+		/**
+		* @return true if this route's first length + 1 vertices are other's
+		*/
+		boolean startsWith(Route other, int length) {
+			for (int i = 0; i <= length; i++)
+				if (ids[i] != other.ids[i])
+					return false;
+			return true;
+		}
+
+		public int compareTo(Route other) {
+			if (cost != other.cost)
+				return cost < other.cost ? -1 : 1;
+			return ids.length - other.ids.length;
+		}
+
+		public int hashCode() {
+			return Arrays.hashCode(ids);
+		}
+
+		public boolean equals(Object obj) {
+			return obj instanceof Route && Arrays.equals(ids, ((Route) obj).ids);
+		}
+	}
+}
@@ -7,15 +7,29 @@ import java.io.*;
 *
 * A program to read in a graph and print a minimum spanning tree.
 * Copied from FindPaths except for the MST activities in the lower half of main.
+* With -stream, instead finds the MST as the edge file is read, holding at most
+* V - 1 + buffer_size edges, and prints it without printing the graph.
 */
 
 public class MSTMain {
 	public static void main(String[] args) {
-		if(args.length != 2) {
-			System.err.println("USAGE: java MSTMain <vertex_file> <edge_file>");
+		if((args.length < 2 || args.length > 4) || (args.length > 2 && !args[2].equals("-stream"))) {
+			System.err.println("USAGE: java MSTMain <vertex_file> <edge_file> [-stream [buffer_size]]");
 			System.exit(1);
 		}
 
+		if (args.length > 2) {
+			Collection<Vertex> vertices = readVertices(args[0]);
+			int bufferSize = args.length == 4 ? Integer.parseInt(args[3])
+					: Math.max(vertices.size(), 1 << 16);
+			try {
+				printMST(StreamingMST.mst(vertices, args[1], bufferSize));
+			} catch (IOException e) {
+				System.err.println("I/O ERROR: " + e.getMessage());
+				System.exit(2);
+			}
+			return;
+		}
 		MyGraph g = readGraph(args[0], args[1]);
 
 		Scanner console = new Scanner(System.in);
@@ -24,7 +38,14 @@ public class MSTMain {
 		System.out.println("Vertices are " + v);
 		System.out.println("Edges are " + e);
 		System.out.println();
-		Set<Edge> mst = g.getMST();
+		printMST(g.getMST());
+	}
+
+	/**
+	* prints an MST and its cost, or that there is none
+	* @param mst the edges of the MST, or null if no MST exists
+	*/
+	public static void printMST(Set<Edge> mst) {
 		if (mst != null) {
 			System.out.println("One possible MST for the graph is " + mst);
 			int sum = 0;
@@ -44,16 +65,8 @@ public class MSTMain {
 	* @return new MyGraph made of vertices and edges
 	*/
 	public static MyGraph readGraph(String f1, String f2) {
+		Collection<Vertex> v = readVertices(f1);
 		Scanner s = null;
-		try {
-			s = new Scanner(new File(f1));
-		} catch(FileNotFoundException e1) {
-			System.err.println("FILE NOT FOUND: " + f1);
-			System.exit(2);
-		}
-		Collection<Vertex> v = new ArrayList<Vertex>();
-		while(s.hasNext())
-			v.add(new Vertex(s.next()));
 		try {
 			s = new Scanner(new File(f2));
 		} catch(FileNotFoundException e1) {
@@ -74,4 +87,23 @@ public class MSTMain {
 		}
 		return new MyGraph(v, e);
 	}
+
+	/**
+	* reads vertices
+	* @param f1 file name of vertices
+	* @return the vertices in the file, in order
+	*/
+	public static Collection<Vertex> readVertices(String f1) {
+		Scanner s = null;
+		try {
+			s = new Scanner(new File(f1));
+		} catch(FileNotFoundException e1) {
+			System.err.println("FILE NOT FOUND: " + f1);
+			System.exit(2);
+		}
+		Collection<Vertex> v = new ArrayList<Vertex>();
+		while(s.hasNext())
+			v.add(new Vertex(s.next()));
+		return v;
+	}
 }
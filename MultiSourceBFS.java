@@ -0,0 +1,136 @@
+import java.util.*;
+/**
+* Minerva Chen, Max Peterson
+* 10/19/2026
+* MultiSourceBFS
+*
+* Breadth-first searches that count hops and ignore edge weights, run up to
+* 64 at a time. Each vertex keeps one long per state, one bit per search:
+* which searches have seen it, which reached it in the last level, and which
+* reach it in the next. A level is one sweep over the vertices reached in the
+* last level, and each edge passes along all the searches at its source with
+* a single and-not, so 64 searches cost about what one does.
+*/
+
+public class MultiSourceBFS {
+	public static final int BATCH_SIZE = 64; // searches run together
+	private final MyGraph graph;
+	private final Adjacency adjacency;
+
+	/**
+	* @param graph the graph to search
+	* @throws IllegalArgumentException if graph is null
+	*/
+	public MultiSourceBFS(MyGraph graph) {
+		if (graph == null)
+			throw new IllegalArgumentException("graph must not be null");
+		this.graph = graph;
+		this.adjacency = graph.adjacency();
+	}
+
+	/**
+	* Finds the fewest edges on a path from each source to each vertex,
+	* BATCH_SIZE sources per sweep.
+	* @param sources the vertices to search from
+	* @param maxHops the most hops to search, or -1 for no limit
+	* @return hops[i][id]: the fewest edges from sources.get(i) to the vertex
+	* 	with that id, or -1 if it is not reachable within maxHops
+	* @throws NoSuchElementException if a source does not exist.
+	*/
+	public int[][] hopDistances(List<Vertex> sources, int maxHops) {
+		int n = adjacency.numVertices();
+		int[][] hops = new int[sources.size()][];
+		for (int first = 0; first < sources.size(); first += BATCH_SIZE) {
+			List<Vertex> batch = sources.subList(first, Math.min(first + BATCH_SIZE, sources.size()));
+			int[][] batchHops = new int[batch.size()][n];
+			for (int[] row : batchHops)
+				Arrays.fill(row, -1);
+			search(ids(batch), maxHops, batchHops);
+			System.arraycopy(batchHops, 0, hops, first, batch.size());
+		}
+		return hops;
+	}
+
+	/**
+	* Finds which of up to BATCH_SIZE sources can reach each vertex.
+	* @param sources the vertices to search from
+	* @param maxHops the most hops to search, or -1 for no limit
+	* @return for each vertex id, a mask whose bit i is set if sources.get(i)
+	* 	reaches that vertex within maxHops
+	* @throws NoSuchElementException if a source does not exist.
+	* @throws IllegalArgumentException if there are more than BATCH_SIZE sources
+	*/
+	public long[] reachedBy(List<Vertex> sources, int maxHops) {
+		if (sources.size() > BATCH_SIZE)
+			throw new IllegalArgumentException("at most " + BATCH_SIZE + " sources, not "
+					+ sources.size());
+		return search(ids(sources), maxHops, null);
+	}
+
+	/**
+	* @return the ids of vertices
+	*/
+	private int[] ids(List<Vertex> vertices) {
+		int[] ids = new int[vertices.size()];
+		for (int i = 0; i < ids.length; i++)
+			ids[i] = graph.getId(vertices.get(i));
+		return ids;
+	}
+
+	/**
+	* Runs one breadth-first search from each of up to BATCH_SIZE sources together.
+	* @param sources the ids of the sources; search i starts at sources[i]
+	* @param maxHops the most hops to search, or -1 for no limit
+	* @param hops if not null, hops[i][v] is set to the level at which search i
+	* 	first reaches v
+	* @return for each vertex, the mask of searches that reached it
+	*/
+	private long[] search(int[] sources, int maxHops, int[][] hops) {
+		int n = adjacency.numVertices();
+		long[] seen = new long[n];
+		long[] visit = new long[n]; // searches whose frontier is at each vertex
+		long[] visitNext = new long[n];
+		int[] frontier = new int[n]; // the vertices with a nonzero visit
+		int[] nextFrontier = new int[n];
+		int frontierSize = 0;
+		for (int i = 0; i < sources.length; i++) {
+			int v = sources[i];
+			if (visit[v] == 0)
+				frontier[frontierSize++] = v;
+			visit[v] |= 1L << i;
+			seen[v] |= 1L << i;
+			if (hops != null)
+				hops[i][v] = 0;
+		}
+		Adjacency.Cursor cursor = adjacency.cursor();
+		for (int level = 1; frontierSize > 0 && (maxHops < 0 || level <= maxHops); level++) {
+			int nextSize = 0;
+			for (int f = 0; f < frontierSize; f++) {
+				int v = frontier[f];
+				long searches = visit[v];
+				visit[v] = 0;
+				for (cursor.reset(v); cursor.next(); ) {
+					int w = cursor.target();
+					long fresh = searches & ~seen[w];
+					if (fresh == 0)
+						continue;
+					if (visitNext[w] == 0)
+						nextFrontier[nextSize++] = w;
+					visitNext[w] |= fresh;
+					seen[w] |= fresh;
+					if (hops != null)
+						for (long bits = fresh; bits != 0; bits &= bits - 1)
+							hops[Long.numberOfTrailingZeros(bits)][w] = level;
+				}
+			}
+			long[] tempVisit = visit;
+			visit = visitNext;
+			visitNext = tempVisit; // all zero again, since every frontier vertex was cleared
+			int[] tempFrontier = frontier;
+			frontier = nextFrontier;
+			nextFrontier = tempFrontier;
+			frontierSize = nextSize;
+		}
+		return seen;
+	}
+}
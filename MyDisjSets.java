@@ -25,6 +25,21 @@ public class MyDisjSets implements DisjointSets {
 		numSets = numElements;
 	}
 
+	/**
+	* @return the estimated bytes these sets retain
+	*/
+	public Footprint footprint() {
+		return footprintOf(up.length);
+	}
+
+	/**
+	* @param numElements the number of elements
+	* @return the estimated bytes sets of that many elements retain
+	*/
+	static Footprint footprintOf(int numElements) {
+		return new Footprint("disjoint sets").add("up", Footprint.array(numElements, 4));
+	}
+
 	/** 
 	* @return the total number of sets
 	*/
@@ -1,4 +1,5 @@
 import java.util.*;
+import java.util.concurrent.*;
 /**
 * Minerva Chen, Max Peterson
 * 11/22/2013
@@ -9,7 +10,13 @@ import java.util.*;
 */
 
 public class MyGraph implements Graph {
-	private Map<Vertex, Set<Edge>> graph; // v_k -> set of edges with v_k as their source
+	private final Vertex[] vertexArray; // id -> vertex; ids are 0 to V - 1 in the order given, unless reordered
+	private final Map<Vertex, Integer> ids; // vertex -> id
+	private final Adjacency adjacency; // out-edges of each vertex, by id
+	private volatile Adjacency reverseAdjacency; // in-edges of each vertex, by id, once needed
+	private volatile ConnectivityIndex connectivity; // which vertices reach which, once needed
+	private final Set<Vertex> vertexView = new VertexSet();
+	private final Set<Edge> edgeView = new EdgeSet();
 
     /**
      * Creates a MyGraph object with the given collection of vertices
@@ -23,47 +30,103 @@ public class MyGraph implements Graph {
 	public MyGraph(Collection<Vertex> v, Collection<Edge> e) {
 		checkNull(v, "vertices");
 		checkNull(e, "edges");
-		graph = new HashMap<Vertex, Set<Edge>>();
+		ids = new HashMap<Vertex, Integer>();
+		List<Vertex> ordered = new ArrayList<Vertex>();
 		for (Vertex vertex : v)
-			graph.put(vertex, new HashSet<Edge>());
+			if (!ids.containsKey(vertex)) {
+				ids.put(vertex, ordered.size());
+				ordered.add(vertex);
+			}
+		vertexArray = ordered.toArray(new Vertex[ordered.size()]);
+		int[] sources = new int[e.size()];
+		int[] targets = new int[e.size()];
+		int[] weights = new int[e.size()];
+		int m = 0;
 		for (Edge edge : e) {
-			if (!graph.containsKey(edge.getSource()) || !graph.containsKey(edge.getDestination()))
+			Integer source = ids.get(edge.getSource());
+			Integer target = ids.get(edge.getDestination());
+			if (source == null || target == null)
 				throw new IllegalArgumentException(edge + " either comes from or goes to " +
 						"a nonexistent vertex");
 			if (edge.getWeight() < 0)
 				throw new IllegalArgumentException(edge + " has negative weight; not allowed");
-			for (Edge otherEdge : e) /* two edges from vertices p to q with different weights
-												 	 not allowed */
-				if (edge.getSource().equals(otherEdge.getSource()) && 
-				edge.getDestination().equals(otherEdge.getDestination())
-				&& edge.getWeight() != otherEdge.getWeight())
-					throw new IllegalArgumentException(edge + " and " + otherEdge + " are the " +
-							"same except for their weights; not allowed.");
-			graph.get(edge.getSource()).add(edge);
+			sources[m] = source;
+			targets[m] = target;
+			weights[m] = edge.getWeight();
+			m++;
+		}
+		/* sorting each vertex's edges by target also finds two edges from vertices
+				p to q with different weights, which are not allowed */
+		adjacency = ArrayAdjacency.build(vertexArray.length, sources, targets, weights, m, vertexArray);
+	}
+
+	/**
+	* Creates a MyGraph from edge storage that is already built and checked.
+	* @param vertexArray the vertex with each id
+	* @param adjacency the edges, by vertex id
+	* @throws IllegalArgumentException if a vertex is null or appears twice
+	*/
+	MyGraph(Vertex[] vertexArray, Adjacency adjacency) {
+		this.vertexArray = vertexArray;
+		this.adjacency = adjacency;
+		ids = new HashMap<Vertex, Integer>(Math.max(16, vertexArray.length * 4 / 3 + 1));
+		for (int id = 0; id < vertexArray.length; id++) {
+			checkNull(vertexArray[id], "vertex " + id);
+			if (ids.put(vertexArray[id], id) != null)
+				throw new IllegalArgumentException("vertex " + vertexArray[id] + " appears twice");
 		}
 	}
 
+	/**
+	* Returns a copy of this graph with its vertices renumbered in the given
+	* order, so that searches touch memory that is closer together. Everything
+	* that takes or returns vertices works just as on this graph; only ids
+	* change, along with the order vertices and edges are iterated in.
+	* @param order how to number the vertices
+	* @return the renumbered graph
+	*/
+	public MyGraph reordered(VertexOrder order) {
+		checkNull(order, "order");
+		int[] oldIds = order.order(adjacency, reverseAdjacency());
+		int[] newId = new int[oldIds.length];
+		Vertex[] newVertexArray = new Vertex[oldIds.length];
+		for (int id = 0; id < oldIds.length; id++) {
+			newId[oldIds[id]] = id;
+			newVertexArray[id] = vertexArray[oldIds[id]];
+		}
+		return new MyGraph(newVertexArray, ArrayAdjacency.renumber(adjacency, newId));
+	}
+
+	/**
+	* Returns a copy of this graph that stores its edges in a few bytes each
+	* instead of eight, for graphs too big to hold otherwise. It works just as
+	* this graph does, but edgeCost takes O(d) time rather than O(log d), and
+	* searches pay a little to decode each edge. Compresses best after
+	* reordered, which makes neighbors' ids close together.
+	* @return the compressed graph
+	*/
+	public MyGraph compressed() {
+		return new MyGraph(vertexArray, CompressedAdjacency.compress(adjacency));
+	}
+
    /** 
     * Return the collection of vertices of this graph
-    * @return the vertices as a collection (which is anything iterable)
+    * @return the vertices as a collection (which is anything iterable),
+    *   in id order (the order they were given to the constructor, unless
+    *   this graph was made by reordered). The collection is a
+    *   read-only view, so this does not copy anything.
     */
    public Collection<Vertex> vertices() {
-		Set<Vertex> vertices = new HashSet<Vertex>();
-		for (Vertex v : graph.keySet())
-			vertices.add(v);
-		return vertices;
+		return vertexView;
 	}
 
 	/** 
 	* Return the collection of edges of this graph
-	* @return the edges as a collection (which is anything iterable)
+	* @return the edges as a collection (which is anything iterable). The
+	*   collection is a read-only view whose Edge objects are made as it is iterated.
 	*/
 	public Collection<Edge> edges() {
-		Set<Edge> edges = new HashSet<Edge>();
-		for (Vertex vertex : graph.keySet())
-			for(Edge edge : graph.get(vertex))
-				edges.add(edge);
-		return edges;
+		return edgeView;
 	}
 
    /**
@@ -71,20 +134,19 @@ public class MyGraph implements Graph {
     *   i.e., the set of all vertices w where edges v -> w exist in the graph.
     * Return an empty collection if there are no adjacent vertices.
     * @param v one of the vertices in the graph
-    * @return an iterable collection of vertices adjacent to v in the graph
+    * @return an iterable collection of vertices adjacent to v in the graph,
+    *   as a read-only view
     * @throws IllegalArgumentException if v does not exist.
     */
    public Collection<Vertex> adjacentVertices(Vertex v) {
-		checkVertexExists(v);
-		Set<Vertex> adjVertices = new HashSet<Vertex>();
-		for (Edge edge : graph.get(v))
-			adjVertices.add(edge.getDestination());
-		return adjVertices;
+		return new AdjacentSet(idOf(v));
    }
 
    /**
     * Test whether vertex b is adjacent to vertex a (i.e. a -> b) in a directed graph.
     * Assumes that we do not have negative cost edges in the graph.
+    * Takes O(log d) time, where d is the number of edges leaving a
+    * (O(d) if this graph is compressed).
     * @param a one vertex
     * @param b another vertex
     * @return cost of edge if there is a directed edge from a to b in the graph, 
@@ -92,14 +154,52 @@ public class MyGraph implements Graph {
     * @throws IllegalArgumentException if a or b do not exist.
     */
    public int edgeCost(Vertex a, Vertex b) {
-		checkVertexExists(a);
-		checkVertexExists(b);
-		for (Edge edge : graph.get(a))
-			if (edge.getDestination().equals(b))
-				return edge.getWeight();
-		return -1; // not found
+		return adjacency.weight(idOf(a), idOf(b));
    }
 
+	/**
+	* Calls visitor once for each edge leaving v, in increasing order of the
+	* destination's id, without allocating anything.
+	* @param v one of the vertices in the graph
+	* @param visitor receives the id of the destination and the weight of each edge
+	* @throws NoSuchElementException if v does not exist.
+	*/
+	public void forEachNeighbor(Vertex v, NeighborVisitor visitor) {
+		adjacency.forEachNeighbor(idOf(v), visitor);
+	}
+
+	/**
+	* Calls visitor once for each edge leaving the vertex with the given id,
+	* in increasing order of the destination's id, without allocating anything.
+	* @param id the id of one of the vertices in the graph
+	* @param visitor receives the id of the destination and the weight of each edge
+	* @throws NoSuchElementException if no vertex has that id.
+	*/
+	public void forEachNeighbor(int id, NeighborVisitor visitor) {
+		checkIdExists(id);
+		adjacency.forEachNeighbor(id, visitor);
+	}
+
+	/**
+	* @param v one of the vertices in the graph
+	* @return the id of v, a number from 0 to V - 1 that stays the same for
+	* 	the life of this graph
+	* @throws NoSuchElementException if v does not exist.
+	*/
+	public int getId(Vertex v) {
+		return idOf(v);
+	}
+
+	/**
+	* @param id a vertex id from 0 to V - 1
+	* @return the vertex with that id
+	* @throws NoSuchElementException if no vertex has that id.
+	*/
+	public Vertex getVertex(int id) {
+		checkIdExists(id);
+		return vertexArray[id];
+	}
+
    /**
     * Returns the shortest path from a to b in the graph, or null if there is
     * no such path.  Assumes all edge weights are nonnegative.
@@ -108,70 +208,347 @@ public class MyGraph implements Graph {
     * @param end the destination vertex
     * @return a Path where the vertices indicate the path from start to end in order
     *   and contains start and end and the cost is the cost of 
-    *   the path. Returns null if end is not reachable from start.
+    *   the path. Returns null if end is not reachable from start, which is
+    *   known at once without searching.
     * @throws NoSuchElementException if start or end does not exist.
     */
    public Path shortestPath(Vertex start, Vertex end) {
-		checkVertexExists(start);
-		checkVertexExists(end);
-	 	DHeap<Vertex> pq = new DHeap<Vertex>(2);
-		Map<Vertex, Vertex> prevMap = new HashMap<Vertex, Vertex>(); /* v_k -> v_k+1 if
-					v_k+1 is the previous vertex on the shortest path to v_k */
-		for (Vertex v : graph.keySet()) {
-			if (v.equals(start))
-				v.setCost(0);
-			else
-				v.setCost(Integer.MAX_VALUE);
-			pq.insert(v);
-		}
-		Vertex current = pq.deleteMin(); // current.equals(start) here
-		while(!pq.isEmpty() && !current.equals(end)) {
-			for(Edge e : graph.get(current)) { 
-				if (pq.contains(e.getDestination())) { /* if pq does not contain the 
-						destination vertex, the shortest path to that vertex is known. */ 
-					Vertex destination = pq.get(e.getDestination()); /* must do get() to get 
-							corresponding Vertex within pq */
-					if (current.getCost() + e.getWeight() < destination.getCost()) {
-						destination.setCost(current.getCost() + e.getWeight());
-						prevMap.put(destination, e.getSource());
-						pq.decreaseKey(destination, e.getWeight() + current.getCost());
-					}
+		return shortestPath(start, end, PQStrategy.DHEAP);
+	}
+
+	/**
+	* Returns the shortest path from start to end, like shortestPath(start, end),
+	* using the given kind of priority queue for the search.
+	* @param start the starting vertex
+	* @param end the destination vertex
+	* @param strategy the kind of priority queue to use
+	* @return the shortest path from start to end, or null if there is none
+	* @throws NoSuchElementException if start or end does not exist.
+	*/
+	public Path shortestPath(Vertex start, Vertex end, PQStrategy strategy) {
+		int startId = idOf(start);
+		int endId = idOf(end);
+		if (!connectivity().canReach(startId, endId))
+			return null;
+		return search(startId, endId, strategy).pathTo(endId);
+	}
+
+	/**
+	* Tests whether there is a path from start to end. The first call indexes
+	* the graph in O(V + E) time. After that, pairs in different weak
+	* components or in the wrong order of strong components take O(1), as
+	* does every pair when there are at most ConnectivityIndex.CLOSURE_LIMIT
+	* strong components; beyond that most pairs are settled in O(1) by
+	* labels, and the rest by a search of the components the labels allow.
+	* @param start the starting vertex
+	* @param end the destination vertex
+	* @return true if end is reachable from start
+	* @throws NoSuchElementException if start or end does not exist.
+	*/
+	public boolean isReachable(Vertex start, Vertex end) {
+		return connectivity().canReach(idOf(start), idOf(end));
+	}
+
+	/**
+	* Runs Dijkstra's algorithm from start to every vertex reachable from it, so
+	* that many destinations sharing a source can be answered from one search.
+	* Does not modify the graph's vertices, so it is safe to call concurrently.
+	* @param start the starting vertex
+	* @return the tree of shortest paths from start
+	* @throws NoSuchElementException if start does not exist.
+	*/
+	public ShortestPathTree shortestPathTree(Vertex start) {
+		return search(idOf(start), -1, PQStrategy.DHEAP);
+	}
+
+	/**
+	* Finds the nearest source to every vertex, in one search from all the
+	* sources at once rather than one search per source.
+	* @param sources the vertices to search from
+	* @return each vertex's nearest source and the cost of the path from it
+	* @throws NoSuchElementException if a source does not exist.
+	*/
+	public NearestSources nearestSources(Collection<Vertex> sources) {
+		return nearestSources(sources, 1);
+	}
+
+	/**
+	* Finds the k nearest sources to every vertex in one search from all the
+	* sources at once. Takes about k times as long as finding the nearest.
+	* @param sources the vertices to search from
+	* @param k how many sources to find for each vertex
+	* @return each vertex's k nearest sources and the costs of the paths from them
+	* @throws NoSuchElementException if a source does not exist.
+	* @throws IllegalArgumentException if sources is null, k is not positive,
+	* 	or V * k is too large to hold.
+	*/
+	public NearestSources nearestSources(Collection<Vertex> sources, int k) {
+		checkNull(sources, "sources");
+		if (k < 1)
+			throw new IllegalArgumentException("k must be positive, not " + k);
+		if ((long) vertexArray.length * k > Integer.MAX_VALUE)
+			throw new IllegalArgumentException("cannot hold " + k + " sources for each of "
+					+ vertexArray.length + " vertices");
+		Set<Integer> sourceIds = new LinkedHashSet<Integer>();
+		for (Vertex source : sources)
+			sourceIds.add(idOf(source));
+		int[] ids = new int[sourceIds.size()];
+		int i = 0;
+		for (int id : sourceIds)
+			ids[i++] = id;
+		return new NearestSources(this, ids, k);
+	}
+
+	/**
+	* Finds every vertex whose cheapest path from start costs at most budget,
+	* searching no further than that, so a small area of a large graph is
+	* cheap to find. Safe to call concurrently.
+	* @param start the vertex to search from
+	* @param budget the greatest cost to include
+	* @return the vertices within budget and their costs from start
+	* @throws NoSuchElementException if start does not exist.
+	* @throws IllegalArgumentException if budget is negative.
+	*/
+	public Isochrone verticesWithin(Vertex start, int budget) {
+		int startId = idOf(start);
+		checkBudget(budget);
+		return new Isochrone(this, startId, budget);
+	}
+
+	/**
+	* Finds the vertices within budget of each of many starts, like
+	* verticesWithin(start, budget), searching from different starts in parallel.
+	* @param starts the vertices to search from
+	* @param budget the greatest cost to include
+	* @return the result for each start, in the order of starts
+	* @throws NoSuchElementException if a start does not exist.
+	* @throws IllegalArgumentException if starts is null or budget is negative.
+	*/
+	public List<Isochrone> verticesWithin(List<Vertex> starts, final int budget) {
+		checkNull(starts, "starts");
+		checkBudget(budget);
+		List<Callable<Isochrone>> searches = new ArrayList<Callable<Isochrone>>();
+		for (Vertex start : starts) {
+			final int startId = idOf(start);
+			searches.add(new Callable<Isochrone>() {
+				public Isochrone call() {
+					return new Isochrone(MyGraph.this, startId, budget);
 				}
-			}
+			});
+		}
+		List<Isochrone> results = new ArrayList<Isochrone>(searches.size());
+		try {
+			for (Future<Isochrone> result : ForkJoinPool.commonPool().invokeAll(searches))
+				results.add(result.get());
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("interrupted while searching");
+		} catch (ExecutionException e) {
+			throw new IllegalStateException(e.getCause());
+		}
+		return results;
+	}
+
+	/**
+	* @throws IllegalArgumentException if budget is negative
+	*/
+	private void checkBudget(int budget) {
+		if (budget < 0)
+			throw new IllegalArgumentException("budget must not be negative, not " + budget);
+	}
+
+	/**
+	* Dijkstra's algorithm from start, on vertex ids.
+	* @param start the id of the starting vertex
+	* @param end the id of the vertex to stop at once its shortest path is known,
+	* 	or -1 to search everything reachable from start
+	* @param strategy the kind of priority queue to use
+	* @return the shortest paths found; complete for end, or for every vertex
+	* 	if end is -1
+	*/
+	private ShortestPathTree search(int start, int end, PQStrategy strategy) {
+		int[] costs = new int[vertexArray.length];
+		int[] prev = new int[vertexArray.length];
+		dijkstra(adjacency, start, end, costs, prev, strategy);
+		return new ShortestPathTree(this, start, costs, prev);
+	}
+
+	/**
+	* Dijkstra's algorithm from start over the given edges, on vertex ids.
+	* @param adjacency the edges to search, either this graph's or their reverse
+	* @param start the id of the starting vertex
+	* @param end the id of the vertex to stop at once its shortest path is known,
+	* 	or -1 to search everything reachable from start
+	* @param costs filled with the cost from start of the cheapest path found to
+	* 	each vertex, or Integer.MAX_VALUE if none was found
+	* @param prev filled with the id of the previous vertex on that path, or -1
+	* @param strategy the kind of priority queue to use
+	*/
+	void dijkstra(Adjacency adjacency, int start, int end, int[] costs, int[] prev,
+			PQStrategy strategy) {
+		dijkstra(adjacency, start, end, costs, prev, strategy, RelaxKernel.DEFAULT);
+	}
+
+	/**
+	* Dijkstra's algorithm, like dijkstra(adjacency, start, end, costs, prev,
+	* strategy), comparing each vertex's out-edges with the given kernel.
+	* @param kernel how to compare out-edges stored in flat arrays
+	*/
+	void dijkstra(Adjacency adjacency, int start, int end, int[] costs, int[] prev,
+			PQStrategy strategy, RelaxKernel kernel) {
+		int n = vertexArray.length;
+		SearchNode[] keys = new SearchNode[n]; // for finding each vertex in pq
+		for (int v = 0; v < n; v++) {
+			costs[v] = v == start ? 0 : Integer.MAX_VALUE;
+			prev[v] = -1;
+			keys[v] = new SearchNode(v, costs[v]);
+		}
+		// every edge decreases a key at most once
+		DijkstraPQ<SearchNode> pq = strategy.create(Arrays.asList(keys), adjacency.numEdges());
+		Adjacency.Cursor cursor = adjacency.cursor();
+		int[] improved = new int[n]; // no vertex has more than V distinct out-edges
+		while (!pq.isEmpty()) {
 			/* the minimum value in pq is the vertex with the cheapest cost from start
 					of the unknown vertices */
-			Vertex next = pq.deleteMin();
-			current = next;
+			int current = pq.deleteMin().getId();
+			if (costs[current] == Integer.MAX_VALUE || current == end)
+				break; // everything left is unreachable from start, or end is known
+			/* weights are nonnegative, so only vertices still in pq can get cheaper */
+			int count = adjacency.relax(current, costs[current], costs, improved, cursor, kernel);
+			for (int i = 0; i < count; i++) {
+				int target = improved[i];
+				prev[target] = current;
+				pq.decreaseKey(keys[target], costs[target]);
+			}
+		}
+	}
+
+	/**
+	* Finds the k cheapest paths from start to end that do not visit any vertex
+	* twice, using Yen's algorithm. The spur searches all reuse one search
+	* backwards from end, and each iteration's spur searches run in parallel.
+	* @param start the starting vertex
+	* @param end the destination vertex
+	* @param k the most paths to find
+	* @return up to k paths from start to end, cheapest first; fewer if there are
+	* 	not k loopless paths, and none if end is not reachable from start
+	* @throws NoSuchElementException if start or end does not exist.
+	* @throws IllegalArgumentException if k is not positive.
+	*/
+	public List<Path> kShortestPaths(Vertex start, Vertex end, int k) {
+		int startId = idOf(start);
+		int endId = idOf(end);
+		if (k < 1)
+			throw new IllegalArgumentException("k must be positive, not " + k);
+		return new KShortestPaths(this, startId, endId).find(k);
+	}
+
+	/**
+	* Estimates the heap this graph retains, including the indexes it has
+	* built so far. Vertices and their labels are counted even though the
+	* caller may hold them too.
+	* @return the estimated bytes, by component
+	*/
+	public Footprint footprint() {
+		long labels = 0;
+		for (Vertex vertex : vertexArray)
+			labels += Footprint.string(vertex.getLabel().length());
+		Footprint footprint = vertexFootprint("graph", vertexArray.length, labels)
+				.add(adjacency.footprint("edges"));
+		Adjacency reverse = reverseAdjacency;
+		if (reverse != null)
+			footprint.add(reverse.footprint("reverse edges"));
+		ConnectivityIndex index = connectivity;
+		if (index != null)
+			footprint.add(index.footprint());
+		return footprint;
+	}
+
+	/**
+	* @return the edges of this graph, by vertex id
+	*/
+	Adjacency adjacency() {
+		return adjacency;
+	}
+
+	/**
+	* @return the edges of this graph with their directions reversed, by vertex
+	* 	id; built the first time it is needed
+	*/
+	Adjacency reverseAdjacency() {
+		Adjacency reverse = reverseAdjacency;
+		if (reverse == null) {
+			synchronized (this) {
+				if (reverseAdjacency == null && adjacency instanceof CompressedAdjacency)
+					reverseAdjacency = CompressedAdjacency.compress(ArrayAdjacency.reverse(adjacency));
+				else if (reverseAdjacency == null)
+					reverseAdjacency = ArrayAdjacency.reverse(adjacency);
+				reverse = reverseAdjacency;
+			}
 		}
-		return getBackpointPath(prevMap, start, current);
-	} 
+		return reverse;
+	}
+
+	/**
+	* @param name what to call the footprint
+	* @param numVertices V
+	* @param labelBytes the estimated bytes of all the vertices' labels
+	* @return the estimated bytes of the vertex parts of a graph of that size
+	*/
+	static Footprint vertexFootprint(String name, int numVertices, long labelBytes) {
+		return new Footprint(name)
+				.add("vertex array", Footprint.array(numVertices, Footprint.REFERENCE))
+				.add("vertices (shared)", (long) numVertices * Footprint.SMALL_OBJECT)
+				.add("labels (shared)", labelBytes)
+				.add("id map", Footprint.hashMap(numVertices) + (long) numVertices * Footprint.BOXED_INT);
+	}
+
+	/**
+	* @return the index of which vertices can reach which; built the first time
+	* 	it is needed
+	*/
+	ConnectivityIndex connectivity() {
+		ConnectivityIndex index = connectivity;
+		if (index == null) {
+			synchronized (this) {
+				if (connectivity == null)
+					connectivity = new ConnectivityIndex(adjacency);
+				index = connectivity;
+			}
+		}
+		return index;
+	}
+
+	/**
+	* @param ids the ids of the vertices on a path, in order
+	* @param cost the cost of the path
+	* @return the path
+	*/
+	Path makePath(int[] ids, int cost) {
+		return new Path(ids, vertexArray, cost);
+	}
 
 	/**
 	* follows backpointers from vertex to vertex to build up the found
-	* shortest path from start to end
-	* @param prevMap, v_k -> v_k+1 if v_k+1 is the previous node on the
-	* 	found shortest path
-	* @param start the initial starting vertex
-	* @param the target vertex
+	* shortest path from start to end. The path is filled in from the back,
+	* so it is built in one pass over an exactly sized array.
+	* @param prev the id of the previous vertex on the found shortest path to
+	* 	each vertex, or -1
+	* @param start the id of the initial starting vertex
+	* @param end the id of the target vertex, which must be reachable from start
+	* @param cost the cost of the path
 	* @return Path is the shortest path from start to end
-	* return null if no path from start to end exists
-	*/
-	private Path getBackpointPath(Map<Vertex, Vertex> prevMap, Vertex start, Vertex end) {
-		List<Vertex> list = new LinkedList<Vertex>(); // a list of edges for Path
-		Vertex prev = end;
-		if (start.equals(end)) {
-			list.add(start);
-			return new Path(list, 0);
-		} else
-      while(prev != null && !prev.equals(start)) {
-         list.add(0, prev);
-         prev = prevMap.get(prev);
-      }
-		list.add(0, prev);
-		// path may or may not exist
-		return list.contains(start) && list.contains(end) ? new Path(list, end.getCost()) : null;
+	*/
+	Path getBackpointPath(int[] prev, int start, int end, int cost) {
+		int length = 1;
+		for (int v = end; v != start; v = prev[v])
+			length++;
+		int[] path = new int[length];
+		for (int v = end; length > 0; v = prev[v])
+			path[--length] = v;
+		return makePath(path, cost);
 	}
-	
+
 	/**
 	* Finds a minimum spanning tree
 	* @return an unsorted set of the edges in an MST of graph
@@ -181,49 +558,72 @@ public class MyGraph implements Graph {
 	*/
 	public Set<Edge> getMST() {
       // uses Kruskal's algorithm
-      DisjointSets disjEdges = new MyDisjSets(graph.keySet().size());
-		// vertexTable maps each vertex to an element in disjoint sets
-      Map<Vertex, Integer> vertexTable = new HashMap<Vertex, Integer>();
+      // vertex ids are the 0 to V-1 elements in disjoint sets
+      DisjointSets disjEdges = new MyDisjSets(vertexArray.length);
       Set<Edge> mst = new HashSet<Edge>();
-      PriorityQueue<Edge> pq = new PriorityQueue<Edge>();
-      // fill priority queue with edges
-      for (Vertex v : graph.keySet())
-         for (Edge e : graph.get(v))
-            pq.add(e);
-      /* establishes a correspondence between the 0 to V-1 numbers in disj sets
-      		and our vertices */
-      int i = 0;
-      for (Vertex v : graph.keySet()) {
-         vertexTable.put(v, i);
-         i++;
-      }
-		try {
-      	// while at one or more vertices are not part of the mst
-	      while (disjEdges.numSets() > 1) {
-	         Edge edge = pq.remove(); // get edge of lowest cost.
-				int sourceDisjElement = vertexTable.get(edge.getSource());
-				int destDisjElement = vertexTable.get(edge.getDestination());
-	         if (disjEdges.find(sourceDisjElement) != disjEdges.find(destDisjElement)) {
-					// if there's no path from source group to destination group
-					mst.add(edge);
-					// union to reflect that an edge from source to dest now exists 
-		         disjEdges.union(disjEdges.find(sourceDisjElement),
-							disjEdges.find(destDisjElement));
-	   		}   
-			} 
-			return mst;
-		} catch (NoSuchElementException mstDNE) { // pq is empty but vertices not connected
-			return null;
-		}
+		// scan the edges straight out of the adjacency, sorted as weight and
+		// index packed together, so only the edges of the mst become Edge objects
+		int m = (int) adjacency.numEdges();
+		int[] sources = new int[m];
+		int[] targets = new int[m];
+		long[] byWeight = new long[m];
+		Adjacency.Cursor cursor = adjacency.cursor();
+		int i = 0;
+		for (int v = 0; v < vertexArray.length; v++)
+			for (cursor.reset(v); cursor.next(); i++) {
+				sources[i] = v;
+				targets[i] = cursor.target();
+				byWeight[i] = (long) cursor.weight() << 32 | i;
+			}
+		Arrays.sort(byWeight);
+		i = 0;
+      // while at one or more vertices are not part of the mst
+      while (disjEdges.numSets() > 1) {
+			if (i == m)
+				return null; // out of edges but vertices not connected
+			int edge = (int) byWeight[i++]; // get edge of lowest cost.
+			int sourceSet = disjEdges.find(sources[edge]);
+			int destSet = disjEdges.find(targets[edge]);
+         if (sourceSet != destSet) {
+				// if there's no path from source group to destination group
+				mst.add(new Edge(vertexArray[sources[edge]], vertexArray[targets[edge]],
+						(int) (byWeight[i - 1] >>> 32)));
+				// union to reflect that an edge from source to dest now exists 
+	         disjEdges.union(sourceSet, destSet);
+   		}   
+		} 
+		return mst;
 	}
-	
+
+	/**
+	* Builds an oracle for minimax paths: the least possible greatest edge
+	* weight on a path between two vertices, taking edges either way. Built
+	* from getMST, or from every edge if the graph is not connected.
+	* @return the oracle
+	*/
+	public BottleneckOracle bottleneckOracle() {
+		Set<Edge> mst = getMST();
+		return new BottleneckOracle(this, mst != null ? mst : edges());
+	}
+
 	/**
-	* Checks if vertex exists
+	* @return the id of vertex
 	* @throws NoSuchElementException if the vertex does not exist in the graph
 	*/
-	private void checkVertexExists(Vertex vertex) {
-		if (!graph.containsKey(vertex))
+	private int idOf(Vertex vertex) {
+		Integer id = ids.get(vertex);
+		if (id == null)
 			throw new NoSuchElementException("vertex " + vertex + " not in graph");
+		return id;
+	}
+
+	/**
+	* Checks if a vertex has the given id
+	* @throws NoSuchElementException if no vertex has that id
+	*/
+	private void checkIdExists(int id) {
+		if (id < 0 || id >= vertexArray.length)
+			throw new NoSuchElementException("no vertex with id " + id);
 	}
 	
 	/**
@@ -234,5 +634,115 @@ public class MyGraph implements Graph {
 		if (object == null)
 			throw new IllegalArgumentException(thing + " must not be null");
 	}
-}
 
+	/**
+	* Read-only view of the vertices, in id order.
+	*/
+	private class VertexSet extends AbstractSet<Vertex> {
+		public int size() {
+			return vertexArray.length;
+		}
+
+		public boolean contains(Object o) {
+			return ids.containsKey(o);
+		}
+
+		public Iterator<Vertex> iterator() {
+			return Collections.unmodifiableList(Arrays.asList(vertexArray)).iterator();
+		}
+	}
+
+	/**
+	* Read-only view of the edges, ordered by source id and then destination id.
+	*/
+	private class EdgeSet extends AbstractSet<Edge> {
+		public int size() {
+			return (int) adjacency.numEdges();
+		}
+
+		public boolean contains(Object o) {
+			if (!(o instanceof Edge))
+				return false;
+			Edge edge = (Edge) o;
+			Integer source = ids.get(edge.getSource());
+			Integer target = ids.get(edge.getDestination());
+			return source != null && target != null
+					&& adjacency.weight(source, target) == edge.getWeight() && edge.getWeight() >= 0;
+		}
+
+		public Iterator<Edge> iterator() {
+			return new Iterator<Edge>() {
+				private final Adjacency.Cursor cursor = adjacency.cursor();
+				private int source = -1;
+				private boolean ready; // cursor is on an edge not yet returned
+
+				public boolean hasNext() {
+					while (!ready && source < vertexArray.length) {
+						if (source >= 0 && cursor.next())
+							ready = true;
+						else if (++source < vertexArray.length)
+							cursor.reset(source);
+					}
+					return ready;
+				}
+
+				public Edge next() {
+					if (!hasNext())
+						throw new NoSuchElementException();
+					ready = false;
+					return new Edge(vertexArray[source], vertexArray[cursor.target()], cursor.weight());
+				}
+
+				public void remove() {
+					throw new UnsupportedOperationException();
+				}
+			};
+		}
+	}
+
+	/**
+	* Read-only view of the vertices adjacent to one vertex.
+	*/
+	private class AdjacentSet extends AbstractSet<Vertex> {
+		private final int source;
+
+		AdjacentSet(int source) {
+			this.source = source;
+		}
+
+		public int size() {
+			return adjacency.degree(source);
+		}
+
+		public boolean contains(Object o) {
+			Integer target = ids.get(o);
+			return target != null && adjacency.weight(source, target) >= 0;
+		}
+
+		public Iterator<Vertex> iterator() {
+			return new Iterator<Vertex>() {
+				private final Adjacency.Cursor cursor = adjacency.cursor();
+				private int remaining = adjacency.degree(source);
+				{
+					cursor.reset(source);
+				}
+
+				public boolean hasNext() {
+					return remaining > 0;
+				}
+
+				public Vertex next() {
+					if (remaining == 0)
+						throw new NoSuchElementException();
+					remaining--;
+					cursor.next();
+					return vertexArray[cursor.target()];
+				}
+
+				public void remove() {
+					throw new UnsupportedOperationException();
+				}
+			};
+		}
+	}
+}
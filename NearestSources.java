@@ -0,0 +1,182 @@
+import java.util.*;
+/**
+* Minerva Chen, Max Peterson
+* 10/19/2026
+* NearestSources
+*
+* The result of a multi-source search: for every vertex, the k sources with
+* the cheapest paths to it and their costs. With k = 1 this is the graph's
+* Voronoi partition, each vertex assigned to its nearest source.
+* Found by one Dijkstra search seeded with every source at cost 0, in which a
+* vertex is settled once per source up to k times, cheapest source first.
+* Each vertex keeps just k - (times settled) sources in the queue, the
+* cheapest found so far, lowering their costs as cheaper paths turn up, so
+* the queue never holds more than k entries per vertex.
+* A source can only be among the k nearest of a vertex if it is among the k
+* nearest of every vertex on its shortest path there, so a vertex already
+* settled k times is never searched past. Ties between sources at the same
+* cost are broken arbitrarily.
+*/
+
+public class NearestSources {
+	private final MyGraph graph;
+	private final int k;
+	private final int[] sourceIds; // k slots per vertex id: the ids of its nearest sources, nearest first
+	private final int[] costs; // cost from the source in the same slot
+	private final int[] counts; // id -> number of slots filled
+
+	/**
+	* runs the search
+	* @param graph the graph to search
+	* @param sources the ids of the sources, without duplicates
+	* @param k how many sources to find for each vertex
+	*/
+	NearestSources(MyGraph graph, int[] sources, int k) {
+		this.graph = graph;
+		this.k = k;
+		Adjacency adjacency = graph.adjacency();
+		int n = adjacency.numVertices();
+		sourceIds = new int[n * k];
+		costs = new int[n * k];
+		counts = new int[n];
+		// each vertex has k pending slots for sources found but not yet settled,
+		// at most k - counts[v] in use at once, and one heap entry per slot in use
+		int[] pendingSources = new int[n * k];
+		Arrays.fill(pendingSources, -1);
+		int[] pendingCosts = new int[n * k];
+		int[] pendingCounts = new int[n];
+		SearchNode[] keys = new SearchNode[n * k]; // for finding each slot in use in pq
+		List<SearchNode> seeds = new ArrayList<SearchNode>();
+		for (int source : sources) {
+			pendingSources[source * k] = source;
+			pendingCosts[source * k] = 0;
+			pendingCounts[source]++;
+			keys[source * k] = new SearchNode(source * k, 0);
+			seeds.add(keys[source * k]);
+		}
+		DHeap<SearchNode> pq = new DHeap<SearchNode>(4, seeds);
+		Adjacency.Cursor cursor = adjacency.cursor();
+		while (!pq.isEmpty()) {
+			SearchNode min = pq.deleteMin();
+			int v = min.getId() / k;
+			int source = pendingSources[min.getId()];
+			pendingSources[min.getId()] = -1;
+			keys[min.getId()] = null;
+			pendingCounts[v]--;
+			int slot = v * k + counts[v]++;
+			sourceIds[slot] = source;
+			costs[slot] = min.getCost();
+			for (cursor.reset(v); cursor.next(); ) {
+				int target = cursor.target();
+				int cost = min.getCost() + cursor.weight();
+				if (counts[target] == k || has(target, source))
+					continue;
+				// the slot holding source already, or else a free one, or else the costliest
+				int chosen = -1;
+				int free = -1;
+				int costliest = -1;
+				for (int pending = target * k; pending < target * k + k && chosen == -1; pending++) {
+					if (pendingSources[pending] == source)
+						chosen = pending;
+					else if (pendingSources[pending] == -1)
+						free = pending;
+					else if (costliest == -1 || pendingCosts[pending] > pendingCosts[costliest])
+						costliest = pending;
+				}
+				if (chosen == -1 && free != -1 && pendingCounts[target] + counts[target] < k) {
+					pendingSources[free] = source;
+					pendingCosts[free] = cost;
+					pendingCounts[target]++;
+					keys[free] = new SearchNode(free, cost);
+					pq.insert(keys[free]);
+				} else {
+					// with every usable slot taken, a source costlier than all of them
+					// could only be settled after target is full, so drop it
+					if (chosen == -1)
+						chosen = costliest;
+					if (chosen != -1 && cost < pendingCosts[chosen]) {
+						pendingSources[chosen] = source;
+						pendingCosts[chosen] = cost;
+						pq.decreaseKey(keys[chosen], cost);
+					}
+				}
+			}
+		}
+	}
+
+	/**
+	* @return true if source is already one of v's settled sources
+	*/
+	private boolean has(int v, int source) {
+		for (int slot = v * k; slot < v * k + counts[v]; slot++)
+			if (sourceIds[slot] == source)
+				return true;
+		return false;
+	}
+
+	/**
+	* @return how many sources were found for each vertex at most
+	*/
+	public int getK() {
+		return k;
+	}
+
+	/**
+	* @param v a vertex
+	* @return the source with the cheapest path to v, or null if no source reaches v
+	* @throws NoSuchElementException if v does not exist.
+	*/
+	public Vertex nearest(Vertex v) {
+		int id = graph.getId(v);
+		return counts[id] == 0 ? null : graph.getVertex(sourceIds[id * k]);
+	}
+
+	/**
+	* @param v a vertex
+	* @return the cost of the cheapest path to v from any source, or -1 if no
+	* 	source reaches v
+	* @throws NoSuchElementException if v does not exist.
+	*/
+	public int cost(Vertex v) {
+		int id = graph.getId(v);
+		return counts[id] == 0 ? -1 : costs[id * k];
+	}
+
+	/**
+	* @param v a vertex
+	* @return up to k sources that reach v, nearest first
+	* @throws NoSuchElementException if v does not exist.
+	*/
+	public List<Vertex> kNearest(Vertex v) {
+		int id = graph.getId(v);
+		List<Vertex> nearest = new ArrayList<Vertex>();
+		for (int slot = id * k; slot < id * k + counts[id]; slot++)
+			nearest.add(graph.getVertex(sourceIds[slot]));
+		return nearest;
+	}
+
+	/**
+	* @param v a vertex
+	* @return the costs from the sources of kNearest(v) to v, in the same order
+	* @throws NoSuchElementException if v does not exist.
+	*/
+	public int[] kNearestCosts(Vertex v) {
+		int id = graph.getId(v);
+		return Arrays.copyOfRange(costs, id * k, id * k + counts[id]);
+	}
+
+	/**
+	* @param source one of the sources
+	* @return the vertices whose nearest source is source, including itself
+	* 	unless another source reaches it at no cost
+	* @throws NoSuchElementException if source does not exist.
+	*/
+	public List<Vertex> cell(Vertex source) {
+		int id = graph.getId(source);
+		List<Vertex> cell = new ArrayList<Vertex>();
+		for (int v = 0; v < counts.length; v++)
+			if (counts[v] > 0 && sourceIds[v * k] == id)
+				cell.add(graph.getVertex(v));
+		return cell;
+	}
+}
@@ -0,0 +1,16 @@
+/**
+* Minerva Chen, Max Peterson
+* 10/19/2026
+* NeighborVisitor
+*
+* Receives the out-edges of a vertex one at a time from MyGraph.forEachNeighbor.
+*/
+
+public interface NeighborVisitor {
+	/**
+	* called once for each out-edge
+	* @param target the id of the edge's destination (see MyGraph.getVertex)
+	* @param weight the weight of the edge
+	*/
+	public void visit(int target, int weight);
+}
@@ -0,0 +1,208 @@
+import java.util.*;
+/**
+* Minerva Chen, Max Peterson
+* 10/19/2026
+* OfflineConnectivity
+*
+* Answers a whole log of "are a and b connected now?" questions asked while
+* undirected edges are added and removed, once the log is complete. Each edge
+* is present for an interval of the questions, which is split over the
+* O(log Q) nodes of a segment tree over the questions that cover it. A walk
+* down the tree unions each node's edges into RollbackDisjSets on the way in
+* and rolls them back on the way out, so each leaf sees exactly the edges
+* present at its question. Takes O((E + Q) log Q log V) time in all, where E
+* counts additions.
+*/
+
+public class OfflineConnectivity {
+	private final int numVertices;
+	private final Map<Long, Deque<Integer>> open = new HashMap<Long, Deque<Integer>>(); // edge -> question each copy was added before
+	private int[] intervalA = new int[16]; // the edges removed so far, with when they were present
+	private int[] intervalB = new int[16];
+	private int[] intervalFrom = new int[16]; // first question the edge was present for
+	private int[] intervalTo = new int[16]; // question it was removed before
+	private int numIntervals;
+	private int[] queryA = new int[16];
+	private int[] queryB = new int[16];
+	private int numQueries;
+
+	/**
+	* @param numVertices the vertices are numbered 0 to numVertices - 1
+	* @throws IllegalArgumentException if numVertices is negative
+	*/
+	public OfflineConnectivity(int numVertices) {
+		if (numVertices < 0)
+			throw new IllegalArgumentException("numVertices must not be negative, not " + numVertices);
+		this.numVertices = numVertices;
+	}
+
+	/**
+	* Adds an edge between a and b. An edge can be added more than once; it is
+	* then present until removed as many times.
+	* @throws IllegalArgumentException if a or b is not a vertex number
+	*/
+	public void addEdge(int a, int b) {
+		Long key = key(a, b);
+		Deque<Integer> added = open.get(key);
+		if (added == null) {
+			added = new ArrayDeque<Integer>();
+			open.put(key, added);
+		}
+		added.push(numQueries);
+	}
+
+	/**
+	* Removes one copy of the edge between a and b.
+	* @throws IllegalArgumentException if a or b is not a vertex number, or
+	* 	there is no edge between them
+	*/
+	public void removeEdge(int a, int b) {
+		Long key = key(a, b);
+		Deque<Integer> added = open.get(key);
+		if (added == null)
+			throw new IllegalArgumentException("no edge between " + a + " and " + b + " to remove");
+		int from = added.pop();
+		if (added.isEmpty())
+			open.remove(key);
+		if (from == numQueries)
+			return; // present for no question
+		if (numIntervals == intervalA.length) {
+			intervalA = Arrays.copyOf(intervalA, 2 * numIntervals);
+			intervalB = Arrays.copyOf(intervalB, 2 * numIntervals);
+			intervalFrom = Arrays.copyOf(intervalFrom, 2 * numIntervals);
+			intervalTo = Arrays.copyOf(intervalTo, 2 * numIntervals);
+		}
+		intervalA[numIntervals] = a;
+		intervalB[numIntervals] = b;
+		intervalFrom[numIntervals] = from;
+		intervalTo[numIntervals++] = numQueries;
+	}
+
+	/**
+	* Asks whether a and b are connected by the edges present now.
+	* @return the index of the answer in the array solve returns
+	* @throws IllegalArgumentException if a or b is not a vertex number
+	*/
+	public int query(int a, int b) {
+		checkVertex(a);
+		checkVertex(b);
+		if (numQueries == queryA.length) {
+			queryA = Arrays.copyOf(queryA, 2 * numQueries);
+			queryB = Arrays.copyOf(queryB, 2 * numQueries);
+		}
+		queryA[numQueries] = a;
+		queryB[numQueries] = b;
+		return numQueries++;
+	}
+
+	/**
+	* @return the number of questions asked so far
+	*/
+	public int numQueries() {
+		return numQueries;
+	}
+
+	/**
+	* Answers every question asked so far. More can be logged and solve called
+	* again afterwards.
+	* @return answers[i]: whether the vertices of question i were connected
+	* 	when it was asked
+	*/
+	public boolean[] solve() {
+		boolean[] answers = new boolean[numQueries];
+		if (numQueries == 0)
+			return answers;
+		SegmentTree tree = new SegmentTree(numQueries);
+		for (int i = 0; i < numIntervals; i++)
+			tree.insert(1, 0, numQueries, intervalFrom[i], intervalTo[i], intervalA[i], intervalB[i]);
+		for (Map.Entry<Long, Deque<Integer>> entry : open.entrySet()) {
+			int a = (int) (entry.getKey() >>> 32);
+			int b = (int) (long) entry.getKey();
+			for (int from : entry.getValue())
+				if (from < numQueries) // still present at the last question
+					tree.insert(1, 0, numQueries, from, numQueries, a, b);
+		}
+		tree.solve(1, 0, numQueries, new RollbackDisjSets(numVertices), answers);
+		return answers;
+	}
+
+	/**
+	* @return the edge between a and b, the same either way round
+	*/
+	private Long key(int a, int b) {
+		checkVertex(a);
+		checkVertex(b);
+		return (long) Math.min(a, b) << 32 | Math.max(a, b);
+	}
+
+	/**
+	* @throws IllegalArgumentException if v is not a vertex number
+	*/
+	private void checkVertex(int v) {
+		if (v < 0 || v >= numVertices)
+			throw new IllegalArgumentException("no vertex " + v + " among " + numVertices);
+	}
+
+	/**
+	* A segment tree over the questions, node 1 covering all of them and
+	* node i's children 2i and 2i + 1, with a list of edges at each node.
+	*/
+	private class SegmentTree {
+		private final int[] head; // node -> first entry of its list, or -1
+		private int[] next = new int[16]; // entry -> next entry in the same list, or -1
+		private int[] edgeA = new int[16];
+		private int[] edgeB = new int[16];
+		private int numEntries;
+
+		SegmentTree(int numLeaves) {
+			head = new int[4 * numLeaves];
+			Arrays.fill(head, -1);
+		}
+
+		/**
+		* adds the edge between a and b to the nodes that together cover
+		* questions from to to - 1, within node's questions lo to hi - 1
+		*/
+		void insert(int node, int lo, int hi, int from, int to, int a, int b) {
+			if (to <= lo || hi <= from)
+				return;
+			if (from <= lo && hi <= to) {
+				if (numEntries == next.length) {
+					next = Arrays.copyOf(next, 2 * numEntries);
+					edgeA = Arrays.copyOf(edgeA, 2 * numEntries);
+					edgeB = Arrays.copyOf(edgeB, 2 * numEntries);
+				}
+				edgeA[numEntries] = a;
+				edgeB[numEntries] = b;
+				next[numEntries] = head[node];
+				head[node] = numEntries++;
+				return;
+			}
+			int mid = (lo + hi) >>> 1;
+			insert(2 * node, lo, mid, from, to, a, b);
+			insert(2 * node + 1, mid, hi, from, to, a, b);
+		}
+
+		/**
+		* answers questions lo to hi - 1 with the edges of node and its
+		* descendants added to sets, then leaves sets as it found them
+		*/
+		void solve(int node, int lo, int hi, RollbackDisjSets sets, boolean[] answers) {
+			int mark = sets.snapshot();
+			for (int e = head[node]; e != -1; e = next[e]) {
+				int a = sets.find(edgeA[e]);
+				int b = sets.find(edgeB[e]);
+				if (a != b)
+					sets.union(a, b);
+			}
+			if (hi - lo == 1)
+				answers[lo] = sets.find(queryA[lo]) == sets.find(queryB[lo]);
+			else {
+				int mid = (lo + hi) >>> 1;
+				solve(2 * node, lo, mid, sets, answers);
+				solve(2 * node + 1, mid, hi, sets, answers);
+			}
+			sets.rollback(mark);
+		}
+	}
+}
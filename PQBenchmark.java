@@ -0,0 +1,55 @@
+import java.util.*;
+/**
+* Minerva Chen, Max Peterson
+* 10/19/2026
+* PQBenchmark
+*
+* Times shortestPath with each PQStrategy on the same random queries over a
+* graph read from files, and checks that every strategy finds the same costs.
+*/
+
+public class PQBenchmark {
+	public static void main(String[] args) {
+		if (args.length < 2 || args.length > 4) {
+			System.err.println("USAGE: java PQBenchmark <vertex_file> <edge_file> [queries] [seed]");
+			System.exit(1);
+		}
+		MyGraph g = FindPaths.readGraph(args[0], args[1]);
+		int queries = args.length > 2 ? Integer.parseInt(args[2]) : 1000;
+		Random random = new Random(args.length > 3 ? Long.parseLong(args[3]) : 373);
+		List<Vertex> vertices = new ArrayList<Vertex>(g.vertices());
+		Vertex[] starts = new Vertex[queries];
+		Vertex[] ends = new Vertex[queries];
+		for (int i = 0; i < queries; i++) {
+			starts[i] = vertices.get(random.nextInt(vertices.size()));
+			ends[i] = vertices.get(random.nextInt(vertices.size()));
+		}
+		System.out.println(vertices.size() + " vertices, " + g.edges().size() + " edges, "
+				+ queries + " queries");
+		int[] expected = null;
+		for (PQStrategy strategy : PQStrategy.values()) {
+			run(g, starts, ends, strategy); // warm up
+			long start = System.nanoTime();
+			int[] costs = run(g, starts, ends, strategy);
+			double seconds = (System.nanoTime() - start) / 1e9;
+			System.out.printf("%-8s %10.1f ms %12.0f queries/s%n", strategy, seconds * 1e3,
+					queries / Math.max(seconds, 1e-9));
+			if (expected == null)
+				expected = costs;
+			else if (!Arrays.equals(expected, costs))
+				System.out.println("  costs differ from " + PQStrategy.values()[0] + "!");
+		}
+	}
+
+	/**
+	* @return the cost of each query's shortest path, or -1 where there is none
+	*/
+	private static int[] run(MyGraph g, Vertex[] starts, Vertex[] ends, PQStrategy strategy) {
+		int[] costs = new int[starts.length];
+		for (int i = 0; i < starts.length; i++) {
+			Path path = g.shortestPath(starts[i], ends[i], strategy);
+			costs[i] = path == null ? -1 : path.cost;
+		}
+		return costs;
+	}
+}
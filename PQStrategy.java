@@ -0,0 +1,49 @@
+import java.util.Collection;
+/**
+* Minerva Chen, Max Peterson
+* 10/19/2026
+* PQStrategy
+*
+* The priority queues a shortest path search can use.
+*/
+
+public enum PQStrategy {
+	/** a d-ary heap with d chosen from the ratio of decreaseKeys to deleteMins */
+	DHEAP {
+		public <E extends Dijkstrable<E>> DijkstraPQ<E> create(Collection<E> elements, long decreaseKeys) {
+			return new DHeap<E>(DHeap.chooseArity(elements.size(), decreaseKeys), elements);
+		}
+	},
+
+	/** a pairing heap, with O(1) amortized insert and decreaseKey */
+	PAIRING {
+		public <E extends Dijkstrable<E>> DijkstraPQ<E> create(Collection<E> elements, long decreaseKeys) {
+			return fill(new PairingHeap<E>(), elements);
+		}
+	},
+
+	/** a monotone radix heap, for nonnegative int priorities that never go below the last minimum */
+	RADIX {
+		public <E extends Dijkstrable<E>> DijkstraPQ<E> create(Collection<E> elements, long decreaseKeys) {
+			return fill(new RadixHeap<E>(), elements);
+		}
+	};
+
+	/**
+	* makes a queue of this kind
+	* @param elements the initial elements
+	* @param decreaseKeys about how many decreaseKey calls the queue will see
+	* @return the queue
+	*/
+	public abstract <E extends Dijkstrable<E>> DijkstraPQ<E> create(Collection<E> elements,
+			long decreaseKeys);
+
+	/**
+	* @return pq after inserting elements
+	*/
+	private static <E extends Dijkstrable<E>> DijkstraPQ<E> fill(DijkstraPQ<E> pq, Collection<E> elements) {
+		for (E element : elements)
+			pq.insert(element);
+		return pq;
+	}
+}
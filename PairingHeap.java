@@ -0,0 +1,189 @@
+import java.util.*;
+/**
+* Minerva Chen, Max Peterson
+* 10/19/2026
+* PairingHeap
+*
+* A pairing heap: a tree in which every node has higher priority than its
+* children, kept as leftmost-child / next-sibling links. insert and
+* decreaseKey are O(1) (decreaseKey cuts the node's subtree off and links it
+* back in at the root); deleteMin pairs up the root's children left to right,
+* then links the pairs right to left, in O(log n) amortized time.
+*/
+
+public class PairingHeap<E extends Dijkstrable<E>> implements DijkstraPQ<E> {
+	private Node<E> root;
+	private int size;
+	private Map<E, Node<E>> nodeMap; // allows O(1) hash access to the node of a heap element
+
+	/**
+	* constructs an empty pairing heap
+	*/
+	public PairingHeap() {
+		nodeMap = new HashMap<E, Node<E>>();
+	}
+
+	/**
+	* empties the heap of all elements
+	*/
+	public void makeEmpty() {
+		root = null;
+		size = 0;
+		nodeMap.clear();
+	}
+
+	/**
+	* @return true if the heap is empty, false otherwise
+	*/
+	public boolean isEmpty() {
+		return size == 0;
+	}
+
+	/**
+	* @return the number of elements in the heap
+	*/
+	public int size() {
+		return size;
+	}
+
+	/**
+	* @return the element equal to this one.
+	*/
+	public E get(E element) {
+		return nodeMap.get(element).element.cloneIt();
+	}
+
+	/**
+	* @return true if the heap contains element, false otherwise.
+	*/
+	public boolean contains(E element) {
+		return nodeMap.containsKey(element);
+	}
+
+	/**
+	* Increases the priority of element.
+	* @param element the element to increase priority of
+	* @param priority the new priority
+	* @throws NoSuchElementException if the element is not in the heap.
+	*/
+	public void decreaseKey(E element, int priority) {
+		Node<E> node = nodeMap.get(element);
+		if (node == null)
+			throw new NoSuchElementException();
+		node.element.updatePriority(priority);
+		if (node != root) {
+			cut(node);
+			root = link(root, node);
+		}
+	}
+
+	/**
+	* inserts a value in the heap, preserving the heap property
+	* @param element the element to insert
+	*/
+	public void insert(E element) {
+		Node<E> node = new Node<E>(element.cloneIt());
+		nodeMap.put(node.element, node);
+		root = root == null ? node : link(root, node);
+		size++;
+	}
+
+	/**
+	* @return the highest priority item
+	* @throws EmptyPQException if heap is empty.
+	*/
+	public E findMin() {
+		if (isEmpty())
+			throw new EmptyPQException();
+		return root.element.cloneIt();
+	}
+
+	/**
+	* @return the highest priority item, preserving the heap property.
+	* @throws EmptyPQException if heap is empty
+	*/
+	public E deleteMin() {
+		E min = findMin();
+		nodeMap.remove(min);
+		root = combineSiblings(root.child);
+		if (root != null)
+			root.prev = null;
+		size--;
+		return min;
+	}
+
+	/**
+	* makes the higher priority of two roots the parent of the other
+	* @return the new root
+	*/
+	private Node<E> link(Node<E> a, Node<E> b) {
+		if (b.element.compareTo(a.element) < 0) {
+			Node<E> temp = a;
+			a = b;
+			b = temp;
+		}
+		b.next = a.child;
+		if (a.child != null)
+			a.child.prev = b;
+		b.prev = a;
+		a.child = b;
+		a.next = null;
+		a.prev = null;
+		return a;
+	}
+
+	/**
+	* detaches node, with its subtree, from its parent and siblings
+	*/
+	private void cut(Node<E> node) {
+		if (node.prev.child == node) // node is the leftmost child
+			node.prev.child = node.next;
+		else
+			node.prev.next = node.next;
+		if (node.next != null)
+			node.next.prev = node.prev;
+		node.next = null;
+		node.prev = null;
+	}
+
+	/**
+	* links the sibling list starting at first into one tree: first in pairs
+	* from left to right, then the pairs from right to left
+	* @return the root of the tree, or null if first is null
+	*/
+	private Node<E> combineSiblings(Node<E> first) {
+		List<Node<E>> pairs = new ArrayList<Node<E>>();
+		while (first != null) {
+			Node<E> second = first.next;
+			Node<E> rest = second == null ? null : second.next;
+			first.next = null;
+			first.prev = null;
+			if (second != null) {
+				second.next = null;
+				second.prev = null;
+				first = link(first, second);
+			}
+			pairs.add(first);
+			first = rest;
+		}
+		Node<E> tree = null;
+		for (int i = pairs.size() - 1; i >= 0; i--)
+			tree = tree == null ? pairs.get(i) : link(pairs.get(i), tree);
+		return tree;
+	}
+
+	/**
+	* A heap element and its links. prev is the left sibling, or the parent
+	* for a leftmost child.
+	*/
+	private static class Node<E> {
+		private final E element;
+		private Node<E> child;
+		private Node<E> next;
+		private Node<E> prev;
+
+		Node(E element) {
+			this.element = element;
+		}
+	}
+}
@@ -0,0 +1,302 @@
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.function.IntBinaryOperator;
+/**
+* Minerva Chen, Max Peterson
+* 10/19/2026
+* ParallelGraphBuilder
+*
+* Builds a MyGraph from edges given as parallel arrays of vertex ids, using
+* every core, for graphs big enough that the constructor's single thread is
+* the bottleneck. Builds the same flat arrays the constructor does, each step
+* split over the common fork-join pool. The edges are first scattered into
+* buckets, one per range of source vertices, each chunk of edges writing to
+* its own slice of each bucket; each bucket then counts its vertices'
+* out-edges, a parallel prefix sum adds the counts up into offsets, and each
+* bucket moves its edges into their source's run without touching any other
+* bucket's, so no step needs atomics. Each run is then sorted by target and
+* its duplicates dropped, rejecting two edges that differ only in weight just
+* as the constructor does. With a single thread in the pool it builds just
+* as the constructor does, since moving the edges twice only pays with cores
+* to share it.
+*/
+
+public class ParallelGraphBuilder {
+	private static final int CHUNKS_PER_THREAD = 4; // so a slow chunk does not hold up the rest
+	private static final IntBinaryOperator SUM = new IntBinaryOperator() {
+		public int applyAsInt(int a, int b) {
+			return a + b;
+		}
+	};
+
+	/**
+	* Builds the graph with the given vertices and the edges
+	* sources[i] -> targets[i] with weight weights[i]. Duplicate edges are
+	* stored once.
+	* @param vertices the vertices; the vertex at index i has id i
+	* @param sources the id of each edge's source
+	* @param targets the id of each edge's destination
+	* @param weights each edge's weight
+	* @return the graph
+	* @throws IllegalArgumentException if: any argument is null, the edge arrays
+	* 	differ in length, a vertex is null or appears twice, any edge has
+	* 	negative weight, any edge links to or from an id that is not a vertex,
+	* 	or two edges have the same source and destination but different weights.
+	*/
+	public static MyGraph build(Vertex[] vertices, final int[] sources, final int[] targets,
+			final int[] weights) {
+		if (vertices == null || sources == null || targets == null || weights == null)
+			throw new IllegalArgumentException("vertices and edges must not be null");
+		if (sources.length != targets.length || sources.length != weights.length)
+			throw new IllegalArgumentException(sources.length + " sources, " + targets.length
+					+ " targets and " + weights.length + " weights; must all be the same");
+		final Vertex[] vertexArray = vertices.clone();
+		final int n = vertexArray.length;
+		final int m = sources.length;
+		if (ForkJoinPool.commonPool().getParallelism() == 1) {
+			// nothing to gain over the constructor's way from moving the edges twice
+			for (int i = 0; i < m; i++)
+				checkEdge(vertexArray, sources[i], targets[i], weights[i]);
+			return new MyGraph(vertexArray, ArrayAdjacency.build(n, sources, targets, weights, m,
+					vertexArray));
+		}
+		// split the vertices into ranges, one bucket of edges each, and count each
+		// chunk of edges' sources by bucket, checking every edge on the way
+		final int numBuckets = Math.max(1, Math.min(n, numChunks()));
+		final int[] edgeBounds = bounds(m, numChunks());
+		final int numEdgeChunks = edgeBounds.length - 1;
+		final int[][] bucketCounts = new int[numEdgeChunks][numBuckets];
+		forEachChunk(edgeBounds, new Range() {
+			void run(int chunk, int from, int to) {
+				for (int i = from; i < to; i++) {
+					checkEdge(vertexArray, sources[i], targets[i], weights[i]);
+					bucketCounts[chunk][bucket(sources[i], n, numBuckets)]++;
+				}
+			}
+		});
+		// each chunk's share of each bucket, bucket by bucket
+		final int[][] bucketNext = new int[numEdgeChunks][numBuckets];
+		final int[] bucketStart = new int[numBuckets + 1];
+		int position = 0;
+		for (int b = 0; b < numBuckets; b++) {
+			bucketStart[b] = position;
+			for (int c = 0; c < numEdgeChunks; c++) {
+				bucketNext[c][b] = position;
+				position += bucketCounts[c][b];
+			}
+		}
+		bucketStart[numBuckets] = position;
+		// scatter each chunk's edges into their buckets, where no other chunk writes
+		final long[] bucketed = new long[m];
+		final int[] bucketedSources = new int[m];
+		forEachChunk(edgeBounds, new Range() {
+			void run(int chunk, int from, int to) {
+				int[] next = bucketNext[chunk];
+				for (int i = from; i < to; i++) {
+					int at = next[bucket(sources[i], n, numBuckets)]++;
+					bucketed[at] = ArrayAdjacency.pack(targets[i], weights[i]);
+					bucketedSources[at] = sources[i];
+				}
+			}
+		});
+		// a bucket holds every edge from its vertices, so each counts its own degrees
+		final int[] offsets = new int[n + 1];
+		final int[] vertexBounds = new int[numBuckets + 1];
+		for (int b = 0; b <= numBuckets; b++) // the first vertex bucket puts in b
+			vertexBounds[b] = (int) (((long) n * b + numBuckets - 1) / numBuckets);
+		forEachChunk(vertexBounds, new Range() {
+			void run(int b, int from, int to) {
+				for (int i = bucketStart[b]; i < bucketStart[b + 1]; i++)
+					offsets[bucketedSources[i] + 1]++;
+			}
+		});
+		Arrays.parallelPrefix(offsets, SUM);
+		// then moves its edges into their source's run; the runs of a bucket's
+		// vertices are where its edges already are, so nothing crosses buckets
+		final long[] packed = new long[m];
+		forEachChunk(vertexBounds, new Range() {
+			void run(int b, int from, int to) {
+				int[] next = Arrays.copyOfRange(offsets, from, to);
+				for (int i = bucketStart[b]; i < bucketStart[b + 1]; i++)
+					packed[next[bucketedSources[i] - from]++] = bucketed[i];
+			}
+		});
+		final int[] degrees = new int[n];
+		forEachChunk(vertexRanges(offsets), new Range() {
+			void run(int chunk, int from, int to) {
+				for (int v = from; v < to; v++)
+					degrees[v] = ArrayAdjacency.sortRun(packed, offsets[v], offsets[v + 1], v, vertexArray);
+			}
+		});
+		// copy the distinct edges of each run to the final arrays
+		final int[] newOffsets = new int[n + 1];
+		System.arraycopy(degrees, 0, newOffsets, 1, n);
+		Arrays.parallelPrefix(newOffsets, SUM);
+		final int[] newTargets = new int[newOffsets[n]];
+		final int[] newWeights = new int[newOffsets[n]];
+		forEachChunk(vertexRanges(offsets), new Range() {
+			void run(int chunk, int from, int to) {
+				for (int v = from; v < to; v++)
+					for (int k = 0; k < degrees[v]; k++) {
+						long edge = packed[offsets[v] + k];
+						newTargets[newOffsets[v] + k] = ArrayAdjacency.target(edge);
+						newWeights[newOffsets[v] + k] = ArrayAdjacency.weight(edge);
+					}
+			}
+		});
+		return new MyGraph(vertexArray, new ArrayAdjacency(newOffsets, newTargets, newWeights));
+	}
+
+	/**
+	* @throws IllegalArgumentException if the edge has negative weight or
+	* 	links to or from an id that is not a vertex
+	*/
+	private static void checkEdge(Vertex[] vertices, int source, int target, int weight) {
+		int n = vertices.length;
+		if (source < 0 || source >= n || target < 0 || target >= n)
+			throw new IllegalArgumentException("edge " + source + " -> " + target
+					+ " either comes from or goes to a nonexistent vertex");
+		if (weight < 0)
+			throw new IllegalArgumentException(new Edge(vertices[source], vertices[target], weight)
+					+ " has negative weight; not allowed");
+	}
+
+	/**
+	* @return the bucket of the vertex range that v is in
+	*/
+	private static int bucket(int v, int n, int numBuckets) {
+		return (int) ((long) v * numBuckets / n);
+	}
+
+	/**
+	* A piece of work over the indexes from to to - 1, the chunk'th of several.
+	*/
+	private abstract static class Range {
+		abstract void run(int chunk, int from, int to);
+	}
+
+	/**
+	* @return the bounds of chunks splitting 0 to size - 1 about equally
+	*/
+	private static int[] bounds(int size, int chunks) {
+		chunks = Math.max(1, Math.min(size, chunks));
+		int[] bounds = new int[chunks + 1];
+		for (int c = 0; c <= chunks; c++)
+			bounds[c] = (int) ((long) size * c / chunks);
+		return bounds;
+	}
+
+	/**
+	* @param offsets the out-edges of v start at offsets[v]
+	* @return the bounds of chunks splitting the vertices so that each has
+	* 	about the same number of edges
+	*/
+	private static int[] vertexRanges(int[] offsets) {
+		int n = offsets.length - 1;
+		int m = offsets[n];
+		int chunks = Math.max(1, Math.min(n, numChunks()));
+		int[] bounds = new int[chunks + 1];
+		bounds[chunks] = n;
+		for (int c = 1; c < chunks; c++) {
+			// the first vertex whose run starts at or after this chunk's share of the edges
+			int share = (int) ((long) m * c / chunks);
+			int v = Arrays.binarySearch(offsets, 0, n, share);
+			if (v < 0)
+				v = -v - 1;
+			else
+				while (v > 0 && offsets[v - 1] == share)
+					v--; // the first of several vertices with no edges
+			bounds[c] = Math.max(bounds[c - 1], v);
+		}
+		return bounds;
+	}
+
+	private static int numChunks() {
+		return CHUNKS_PER_THREAD * ForkJoinPool.commonPool().getParallelism();
+	}
+
+	/**
+	* runs body over bounds[c] to bounds[c + 1] - 1 for each c, in parallel
+	*/
+	private static void forEachChunk(int[] bounds, final Range body) {
+		List<Callable<Void>> tasks = new ArrayList<Callable<Void>>();
+		for (int c = 0; c + 1 < bounds.length; c++) {
+			final int chunk = c;
+			final int from = bounds[c];
+			final int to = bounds[c + 1];
+			if (from < to)
+				tasks.add(new Callable<Void>() {
+					public Void call() {
+						body.run(chunk, from, to);
+						return null;
+					}
+				});
+		}
+		try {
+			for (Future<Void> task : ForkJoinPool.commonPool().invokeAll(tasks))
+				task.get();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("interrupted while building graph");
+		} catch (ExecutionException e) {
+			Throwable cause = e.getCause();
+			// the pool may rethrow a copy wrapping the worker's own exception
+			while (cause.getCause() != null && cause.getCause().getClass() == cause.getClass())
+				cause = cause.getCause();
+			if (cause instanceof RuntimeException)
+				throw (RuntimeException) cause; // such as a rejected edge
+			throw new IllegalStateException(cause);
+		}
+	}
+
+	/**
+	* Times building a random graph one thread at a time and with this
+	* builder, and checks that both build the same edges.
+	*/
+	public static void main(String[] args) {
+		if (args.length < 2 || args.length > 3) {
+			System.err.println("USAGE: java ParallelGraphBuilder <num_vertices> <num_edges> [seed]");
+			System.exit(1);
+		}
+		int n = Integer.parseInt(args[0]);
+		int m = Integer.parseInt(args[1]);
+		Random random = new Random(args.length > 2 ? Long.parseLong(args[2]) : 373);
+		Vertex[] vertices = new Vertex[n];
+		for (int v = 0; v < n; v++)
+			vertices[v] = new Vertex("v" + v);
+		int[] sources = new int[m];
+		int[] targets = new int[m];
+		int[] weights = new int[m];
+		for (int i = 0; i < m; i++) {
+			sources[i] = random.nextInt(n);
+			targets[i] = random.nextInt(n);
+			weights[i] = (sources[i] * 31 + targets[i]) % 1000; // duplicates agree on weight
+		}
+		System.out.println(n + " vertices, " + m + " edges, "
+				+ ForkJoinPool.commonPool().getParallelism() + " threads");
+		MyGraph sequential = null;
+		MyGraph parallel = null;
+		for (int round = 0; round < 2; round++) { // the first warms up
+			long start = System.nanoTime();
+			sequential = new MyGraph(vertices.clone(),
+					ArrayAdjacency.build(n, sources, targets, weights, m, vertices));
+			long middle = System.nanoTime();
+			parallel = build(vertices, sources, targets, weights);
+			long end = System.nanoTime();
+			if (round == 1)
+				System.out.printf("one thread %.1f ms, parallel %.1f ms%n", (middle - start) / 1e6,
+						(end - middle) / 1e6);
+		}
+		Adjacency a = sequential.adjacency();
+		Adjacency b = parallel.adjacency();
+		Adjacency.Cursor expected = a.cursor();
+		Adjacency.Cursor actual = b.cursor();
+		boolean same = a.numEdges() == b.numEdges();
+		for (int v = 0; v < n && same; v++) {
+			same = a.degree(v) == b.degree(v);
+			for (expected.reset(v), actual.reset(v); same && expected.next() && actual.next(); )
+				same = expected.target() == actual.target() && expected.weight() == actual.weight();
+		}
+		System.out.println(same ? "same edges" : "edges differ!");
+	}
+}
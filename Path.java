@@ -5,16 +5,72 @@
 *
 * Stores a path from one vertex to another in a graph, as well as the cost of that path.
 */
+import java.io.IOException;
+import java.util.AbstractList;
 import java.util.List;
+import java.util.RandomAccess;
 
 public class Path {
     // we use public fields fields here since this very simple class is
     // used only for returning multiple results from shortestPath
     public final List<Vertex> vertices;
     public final int cost;
+    private final int[] ids; // vertex ids in order, or null if made from a list
+    private final Vertex[] vertexTable; // id -> vertex, for ids
     
     public Path(List<Vertex> vertices, int cost) {
 	 	 this.vertices = vertices;
 	 	 this.cost = cost;
+	 	 this.ids = null;
+	 	 this.vertexTable = null;
+    }
+
+    /**
+     * Makes a path stored as an array of vertex ids. vertices is a read-only
+     * view that looks each vertex up in vertexTable as it is accessed.
+     * @param ids the ids of the vertices on the path, in order
+     * @param vertexTable the vertex with each id
+     * @param cost the cost of the path
+     */
+    Path(int[] ids, Vertex[] vertexTable, int cost) {
+	 	 this.vertices = new VertexList();
+	 	 this.cost = cost;
+	 	 this.ids = ids;
+	 	 this.vertexTable = vertexTable;
+    }
+
+    /**
+     * Writes the labels of the vertices on this path, separated by single
+     * spaces, without building any intermediate list or string.
+     * @param out where to write the path
+     * @throws IOException if out does
+     */
+    public void write(Appendable out) throws IOException {
+	 	 if (ids != null) {
+	 	 	 for (int i = 0; i < ids.length; i++) {
+	 	 	 	 if (i > 0)
+	 	 	 	 	 out.append(' ');
+	 	 	 	 out.append(vertexTable[ids[i]].getLabel());
+	 	 	 }
+	 	 } else {
+	 	 	 String separator = "";
+	 	 	 for (Vertex v : vertices) {
+	 	 	 	 out.append(separator).append(v.getLabel());
+	 	 	 	 separator = " ";
+	 	 	 }
+	 	 }
+    }
+
+    /**
+     * The vertices of an id array path.
+     */
+    private class VertexList extends AbstractList<Vertex> implements RandomAccess {
+	 	 public Vertex get(int i) {
+	 	 	 return vertexTable[ids[i]];
+	 	 }
+
+	 	 public int size() {
+	 	 	 return ids.length;
+	 	 }
     }
 }
@@ -0,0 +1,189 @@
+import java.util.*;
+/**
+* Minerva Chen, Max Peterson
+* 10/19/2026
+* RadixHeap
+*
+* A monotone radix heap for nonnegative int priorities. Elements sit in 33
+* buckets by the highest bit in which their priority differs from the last
+* minimum taken out (bucket 0 holds priorities equal to it). When bucket 0
+* runs out, the first nonempty bucket is emptied into lower buckets around its
+* own minimum, and each element can only move down, so deleteMin is
+* O(log C) amortized for priorities below C, and insert and decreaseKey are O(1).
+* Monotone means no priority may be set below that of the last element
+* returned by findMin or deleteMin, which always holds in Dijkstra's algorithm.
+*/
+
+public class RadixHeap<E extends Dijkstrable<E>> implements DijkstraPQ<E> {
+	private static final int NUM_BUCKETS = 33;
+	private List<List<Entry<E>>> buckets;
+	private int last; // priority of the last minimum found
+	private int size;
+	private Map<E, Entry<E>> entryMap; // allows O(1) hash access to the entry of a heap element
+
+	/**
+	* constructs an empty radix heap
+	*/
+	public RadixHeap() {
+		buckets = new ArrayList<List<Entry<E>>>();
+		for (int i = 0; i < NUM_BUCKETS; i++)
+			buckets.add(new ArrayList<Entry<E>>());
+		entryMap = new HashMap<E, Entry<E>>();
+	}
+
+	/**
+	* empties the heap of all elements
+	*/
+	public void makeEmpty() {
+		for (List<Entry<E>> bucket : buckets)
+			bucket.clear();
+		entryMap.clear();
+		size = 0;
+		last = 0;
+	}
+
+	/**
+	* @return true if the heap is empty, false otherwise
+	*/
+	public boolean isEmpty() {
+		return size == 0;
+	}
+
+	/**
+	* @return the number of elements in the heap
+	*/
+	public int size() {
+		return size;
+	}
+
+	/**
+	* @return the element equal to this one.
+	*/
+	public E get(E element) {
+		return entryMap.get(element).element.cloneIt();
+	}
+
+	/**
+	* @return true if the heap contains element, false otherwise.
+	*/
+	public boolean contains(E element) {
+		return entryMap.containsKey(element);
+	}
+
+	/**
+	* Increases the priority of element.
+	* @param element the element to increase priority of
+	* @param priority the new priority
+	* @throws NoSuchElementException if the element is not in the heap.
+	* @throws IllegalArgumentException if priority is below the last minimum
+	*/
+	public void decreaseKey(E element, int priority) {
+		Entry<E> entry = entryMap.get(element);
+		if (entry == null)
+			throw new NoSuchElementException();
+		checkMonotone(priority);
+		remove(entry);
+		entry.element.updatePriority(priority);
+		add(entry);
+	}
+
+	/**
+	* inserts a value in the heap
+	* @param element the element to insert
+	* @throws IllegalArgumentException if its priority is below the last minimum
+	*/
+	public void insert(E element) {
+		checkMonotone(element.getPriority());
+		Entry<E> entry = new Entry<E>(element.cloneIt());
+		entryMap.put(entry.element, entry);
+		add(entry);
+		size++;
+	}
+
+	/**
+	* @return the highest priority item
+	* @throws EmptyPQException if heap is empty.
+	*/
+	public E findMin() {
+		if (isEmpty())
+			throw new EmptyPQException();
+		refill();
+		return buckets.get(0).get(0).element.cloneIt();
+	}
+
+	/**
+	* @return the highest priority item
+	* @throws EmptyPQException if heap is empty
+	*/
+	public E deleteMin() {
+		E min = findMin();
+		remove(entryMap.remove(min));
+		size--;
+		return min;
+	}
+
+	/**
+	* if bucket 0 is empty, makes the minimum of the first nonempty bucket the
+	* new last minimum and spreads that bucket over the lower buckets
+	*/
+	private void refill() {
+		if (!buckets.get(0).isEmpty())
+			return;
+		int i = 1;
+		while (buckets.get(i).isEmpty())
+			i++;
+		List<Entry<E>> bucket = buckets.get(i);
+		int min = Integer.MAX_VALUE;
+		for (Entry<E> entry : bucket)
+			min = Math.min(min, entry.element.getPriority());
+		last = min;
+		buckets.set(i, new ArrayList<Entry<E>>());
+		for (Entry<E> entry : bucket)
+			add(entry);
+	}
+
+	/**
+	* puts entry in the bucket for its priority
+	*/
+	private void add(Entry<E> entry) {
+		int priority = entry.element.getPriority();
+		entry.bucket = priority == last ? 0 : 32 - Integer.numberOfLeadingZeros(priority ^ last);
+		List<Entry<E>> bucket = buckets.get(entry.bucket);
+		entry.index = bucket.size();
+		bucket.add(entry);
+	}
+
+	/**
+	* takes entry out of its bucket by moving the bucket's last entry into its place
+	*/
+	private void remove(Entry<E> entry) {
+		List<Entry<E>> bucket = buckets.get(entry.bucket);
+		Entry<E> moved = bucket.remove(bucket.size() - 1);
+		if (moved != entry) {
+			bucket.set(entry.index, moved);
+			moved.index = entry.index;
+		}
+	}
+
+	/**
+	* @throws IllegalArgumentException if priority is below the last minimum
+	*/
+	private void checkMonotone(int priority) {
+		if (priority < last)
+			throw new IllegalArgumentException("priority " + priority + " is below the last minimum "
+					+ last + "; a radix heap is monotone");
+	}
+
+	/**
+	* A heap element and where it is.
+	*/
+	private static class Entry<E> {
+		private final E element;
+		private int bucket;
+		private int index; // position in its bucket
+
+		Entry(E element) {
+			this.element = element;
+		}
+	}
+}
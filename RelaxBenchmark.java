@@ -0,0 +1,136 @@
+import java.util.*;
+/**
+* Minerva Chen, Max Peterson
+* 10/19/2026
+* RelaxBenchmark
+*
+* Times each available RelaxKernel: first on runs of out-edges of increasing
+* degree, where nothing gets cheaper, as in most of a search, with the costs
+* both small enough to stay in cache and too big to; then, if a graph
+* is given, on whole searches, checking that every kernel finds the same
+* costs. Run with --add-modules jdk.incubator.vector to include the vector kernel.
+*/
+
+public class RelaxBenchmark {
+	private static final int[] NUM_VERTICES = {1 << 14, 1 << 22}; // 64 KB and 16 MB of costs
+	private static final int EDGES_PER_DEGREE = 1 << 20; // edges in each degree's runs
+	private static final int[] DEGREES = {4, 16, 64, 256, 1024, 4096};
+
+	public static void main(String[] args) {
+		if (args.length != 0 && args.length != 2 && args.length != 3) {
+			System.err.println("USAGE: java RelaxBenchmark [<vertex_file> <edge_file> [searches]]");
+			System.exit(1);
+		}
+		List<RelaxKernel> kernels = new ArrayList<RelaxKernel>();
+		kernels.add(RelaxKernel.SCALAR);
+		if (RelaxKernel.VECTOR != null)
+			kernels.add(RelaxKernel.VECTOR);
+		else
+			System.out.println("vector kernel not available; comparing scalar only");
+		Random random = new Random(373);
+		for (int numVertices : NUM_VERTICES) {
+			int[] costs = new int[numVertices];
+			for (int v = 0; v < numVertices; v++)
+				costs[v] = random.nextInt(1000);
+			System.out.printf("%-8s", "degree");
+			for (RelaxKernel kernel : kernels)
+				System.out.printf(" %22s", kernel.getName() + " ns/edge");
+			System.out.println("   (" + numVertices + " vertices)");
+			for (int degree : DEGREES) {
+				int runs = EDGES_PER_DEGREE / degree;
+				int[] targets = new int[runs * degree];
+				int[] weights = new int[targets.length];
+				for (int r = 0; r < runs; r++)
+					System.arraycopy(distinctSorted(degree, numVertices, random), 0, targets,
+							r * degree, degree);
+				for (int i = 0; i < weights.length; i++)
+					weights[i] = 1 + random.nextInt(100);
+				int[] improved = new int[degree];
+				System.out.printf("%-8d", degree);
+				for (RelaxKernel kernel : kernels) {
+					for (int i = 0; i < 5; i++) // warm up
+						time(kernel, targets, weights, degree, costs, improved);
+					double nanos = time(kernel, targets, weights, degree, costs, improved);
+					System.out.printf(" %22.3f", nanos / targets.length);
+				}
+				System.out.println();
+			}
+		}
+		if (args.length >= 2)
+			searches(FindPaths.readGraph(args[0], args[1]),
+					args.length > 2 ? Integer.parseInt(args[2]) : 20, kernels);
+	}
+
+	/**
+	* @return degree distinct numbers below numVertices, in increasing order
+	*/
+	private static int[] distinctSorted(int degree, int numVertices, Random random) {
+		Set<Integer> chosen = new TreeSet<Integer>();
+		while (chosen.size() < degree)
+			chosen.add(random.nextInt(numVertices));
+		int[] run = new int[degree];
+		int i = 0;
+		for (int v : chosen)
+			run[i++] = v;
+		return run;
+	}
+
+	/**
+	* @return nanoseconds to relax every run a few times over, from a cost that
+	* 	makes nothing cheaper
+	*/
+	private static double time(RelaxKernel kernel, int[] targets, int[] weights, int degree,
+			int[] costs, int[] improved) {
+		final int rounds = 5;
+		int found = 0;
+		long start = System.nanoTime();
+		for (int round = 0; round < rounds; round++)
+			for (int from = 0; from < targets.length; from += degree)
+				found += kernel.relax(targets, weights, from, from + degree, 1000, costs, improved);
+		long elapsed = System.nanoTime() - start;
+		if (found != 0)
+			throw new IllegalStateException(kernel.getName() + " lowered a cost it should not have");
+		return (double) elapsed / rounds;
+	}
+
+	/**
+	* Times whole searches from random starts with each kernel.
+	*/
+	private static void searches(MyGraph g, int searches, List<RelaxKernel> kernels) {
+		Adjacency adjacency = g.adjacency();
+		int n = adjacency.numVertices();
+		long maxDegree = 0;
+		for (int v = 0; v < n; v++)
+			maxDegree = Math.max(maxDegree, adjacency.degree(v));
+		System.out.printf("%d vertices, %d edges (%.1f per vertex, at most %d), %d searches%n",
+				n, adjacency.numEdges(), (double) adjacency.numEdges() / Math.max(1, n),
+				maxDegree, searches);
+		Random random = new Random(373);
+		int[] starts = new int[searches];
+		for (int i = 0; i < searches; i++)
+			starts[i] = random.nextInt(n);
+		int[] costs = new int[n];
+		int[] prev = new int[n];
+		long[] expected = null;
+		for (RelaxKernel kernel : kernels) {
+			long[] sums = new long[searches];
+			long start = 0;
+			for (int round = 0; round < 2; round++) { // the first warms up
+				start = System.nanoTime();
+				for (int i = 0; i < searches; i++) {
+					g.dijkstra(adjacency, starts[i], -1, costs, prev, PQStrategy.DHEAP, kernel);
+					long sum = 0;
+					for (int cost : costs)
+						sum += cost;
+					sums[i] = sum;
+				}
+			}
+			System.out.printf("%-22s %10.1f ms per search%n", kernel.getName(),
+					(System.nanoTime() - start) / 1e6 / Math.max(1, searches));
+			if (expected == null)
+				expected = sums;
+			else if (!Arrays.equals(expected, sums))
+				System.out.println("  costs differ from " + kernels.get(0).getName() + "!");
+		}
+	}
+}
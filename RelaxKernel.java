@@ -0,0 +1,75 @@
+/**
+* Minerva Chen, Max Peterson
+* 10/19/2026
+* RelaxKernel
+*
+* The inner loop of a shortest path search: compares a run of out-edges
+* stored in flat arrays with the costs of their targets. SCALAR does one edge
+* at a time. VectorRelaxKernel, in vector/, does several per instruction with
+* the incubating Vector API, so it is compiled and run separately:
+*	javac --add-modules jdk.incubator.vector -d <classes> vector/VectorRelaxKernel.java
+*	java --add-modules jdk.incubator.vector ...
+* Searches use DEFAULT, which is SCALAR, since RelaxBenchmark has so far
+* measured the vector kernel about on par with it on whole searches and no
+* faster on long runs. Running with -DrelaxKernel=vector opts in to the
+* vector kernel, when it was compiled and the module was added, for machines
+* where the benchmark shows it wins.
+*/
+
+abstract class RelaxKernel {
+	static final RelaxKernel SCALAR = new RelaxKernel() {
+		String getName() {
+			return "scalar";
+		}
+
+		int relax(int[] targets, int[] weights, int from, int to, int cost, int[] costs,
+				int[] improved) {
+			int count = 0;
+			for (int i = from; i < to; i++) {
+				int newCost = cost + weights[i];
+				if (newCost < costs[targets[i]]) {
+					costs[targets[i]] = newCost;
+					improved[count++] = targets[i];
+				}
+			}
+			return count;
+		}
+	};
+	static final RelaxKernel VECTOR = loadVector();
+	static final RelaxKernel DEFAULT =
+			VECTOR != null && "vector".equals(System.getProperty("relaxKernel")) ? VECTOR : SCALAR;
+
+	/**
+	* @return a name to report this kernel by
+	*/
+	abstract String getName();
+
+	/**
+	* lowers costs[targets[i]] to cost + weights[i] for each i from from to
+	* to - 1 where that is cheaper
+	* @param targets edge destinations, with no destination twice in the run
+	* @param weights edge weights, parallel to targets
+	* @param cost the cost of reaching the edges' source
+	* @param costs the cost of reaching each vertex so far
+	* @param improved filled with the targets whose costs were lowered, in the
+	* 	order of the run
+	* @return how many targets were lowered
+	*/
+	abstract int relax(int[] targets, int[] weights, int from, int to, int cost, int[] costs,
+			int[] improved);
+
+	/**
+	* @return the Vector API kernel, or null if it was not compiled or
+	* 	jdk.incubator.vector was not added to this run
+	*/
+	private static RelaxKernel loadVector() {
+		try {
+			return (RelaxKernel) Class.forName("VectorRelaxKernel").getDeclaredConstructor()
+					.newInstance();
+		} catch (Exception e) {
+			return null; // not compiled
+		} catch (LinkageError e) {
+			return null; // compiled, but the module is missing
+		}
+	}
+}
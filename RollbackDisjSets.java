@@ -0,0 +1,180 @@
+import java.util.Arrays;
+/**
+* Minerva Chen, Max Peterson
+* 10/19/2026
+* RollbackDisjSets
+*
+* Disjoint sets whose unions can be undone, most recent first. Uses weighted
+* union but no path compression, so a union only ever changes two entries of
+* up, which are saved on a stack and put back by rollback in O(1) per union.
+* Without compression find takes O(log n), which weighted union guarantees.
+*/
+
+public class RollbackDisjSets implements DisjointSets {
+	private final int[] up; // negative size at a root, otherwise the parent
+	private int numSets;
+	private int[] undoChild; // the root each union put under another, oldest first
+	private int[] undoSize; // its size before that union
+	private int numUnions;
+
+	/**
+	* @param numElements is the total number of elements, each element is
+	* initially in its own set.
+	*/
+	public RollbackDisjSets(int numElements) {
+		up = new int[numElements];
+		for (int i = 0; i < numElements; i++)
+			up[i] = -1;
+		numSets = numElements;
+		undoChild = new int[16];
+		undoSize = new int[16];
+	}
+
+	/**
+	* @return the total number of sets
+	*/
+	public int numSets() {
+		return numSets;
+	}
+
+	/**
+	* combines set1 and set2 into one set, making the smaller set a part of the
+	* larger, and remembers how to undo it
+	* @param set1 the name of a set
+	* @param set2 the name of another set
+	* @throws InvalidElementException if set1 or set2 are not valid set elements.
+	* @throws InvalidSetNameException if set1 or set2 are not set names.
+	*/
+	public void union(int set1, int set2) {
+		checkException(set1);
+		checkException(set2);
+		if (set1 == set2)
+			return;
+		int parent = up[set1] < up[set2] ? set1 : set2; // the larger set
+		int child = parent == set1 ? set2 : set1;
+		if (numUnions == undoChild.length) {
+			undoChild = Arrays.copyOf(undoChild, 2 * numUnions);
+			undoSize = Arrays.copyOf(undoSize, 2 * numUnions);
+		}
+		undoChild[numUnions] = child;
+		undoSize[numUnions++] = up[child];
+		up[parent] += up[child];
+		up[child] = parent;
+		numSets--;
+	}
+
+	/**
+	* @return a mark that rollback can return these sets to, standing for every
+	* 	union made so far
+	*/
+	public int snapshot() {
+		return numUnions;
+	}
+
+	/**
+	* undoes every union made since snapshot returned mark, most recent first
+	* @param mark a value snapshot returned, not since rolled back past
+	* @throws IllegalArgumentException if mark is negative or later than the last union
+	*/
+	public void rollback(int mark) {
+		if (mark < 0 || mark > numUnions)
+			throw new IllegalArgumentException("cannot roll back to " + mark + " with "
+					+ numUnions + " unions made");
+		while (numUnions > mark) {
+			numUnions--;
+			int child = undoChild[numUnions];
+			int parent = up[child];
+			up[child] = undoSize[numUnions];
+			up[parent] -= up[child];
+			numSets++;
+		}
+	}
+
+	/**
+	* @param x an element
+	* @return the name of the set x is in
+	* @throws InvalidElementException if x is not a valid element.
+	*/
+	public int find(int x) {
+		checkValidElement(x);
+		while (up[x] >= 0)
+			x = up[x];
+		return x;
+	}
+
+	/**
+	* @param setName an element
+	* @return true if setName is the name of a set
+	* @throws InvalidElementException if setName is not a valid element.
+	*/
+	public boolean isSetName(int setName) {
+		checkValidElement(setName);
+		return up[setName] < 0;
+	}
+
+	/**
+	* @return total number of elements in setNum.
+	* @throws InvalidElementException if setNum is not a valid element of a set.
+	* @throws InvalidSetNameException if setNum is not a valid name of a set.
+	*/
+	public int numElements(int setNum) {
+		checkException(setNum);
+		return -up[setNum];
+	}
+
+	/**
+	* Prints the elements of the set in the form {element, element, ..., element}.
+	* @throws InvalidElementException if setNum is not a valid element of a set.
+	* @throws InvalidSetNameException if setNum is not a valid name of a set.
+	*/
+	public void printSet(int setNum) {
+		int[] elements = getElements(setNum);
+		System.out.print("{");
+		for (int i = 0; i < elements.length - 1; i++)
+			System.out.print(elements[i] + ", ");
+		System.out.println(elements[elements.length - 1] + "}");
+	}
+
+	/**
+	* @return the elements of setNum, in increasing order
+	* @throws InvalidElementException if setNum is not a valid element of a set.
+	* @throws InvalidSetNameException if setNum is not a valid name of a set.
+	*/
+	public int[] getElements(int setNum) {
+		checkException(setNum);
+		int[] result = new int[-up[setNum]];
+		int found = 0;
+		for (int i = 0; i < up.length && found < result.length; i++)
+			if (find(i) == setNum)
+				result[found++] = i;
+		return result;
+	}
+
+	/**
+	* @return the estimated bytes these sets retain
+	*/
+	public Footprint footprint() {
+		return new Footprint("rollback disjoint sets")
+				.add("up", Footprint.array(up.length, 4))
+				.add("undo stack", Footprint.array(undoChild.length, 4) + Footprint.array(undoSize.length, 4));
+	}
+
+	/**
+	* @throws InvalidElementException if n is not a valid element.
+	* @throws InvalidSetNameException if n is not the name of a set.
+	*/
+	private void checkException(int n) {
+		checkValidElement(n);
+		if (up[n] >= 0)
+			throw new InvalidSetNameException();
+	}
+
+	/**
+	* @throws InvalidElementException if element is not in the range 0 to N - 1,
+	* where N is the integer passed to the constructor.
+	*/
+	private void checkValidElement(int element) {
+		if (up.length <= element || element < 0)
+			throw new InvalidElementException();
+	}
+}
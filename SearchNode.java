@@ -0,0 +1,82 @@
+/**
+* Minerva Chen, Max Peterson
+* 10/19/2026
+* SearchNode
+*
+* A vertex id and its cost from a predefined start, for searches that
+* keep vertex ids rather than Vertex objects in a DHeap.
+* Two nodes are equal if they have the same id.
+*/
+
+class SearchNode implements Dijkstrable<SearchNode> {
+	private final int id;
+	private int cost;
+
+	/**
+	* @param id the id of the vertex
+	* @param cost the cost from start of the vertex
+	*/
+	SearchNode(int id, int cost) {
+		this.id = id;
+		this.cost = cost;
+	}
+
+	/**
+	* @return the id of the vertex
+	*/
+	int getId() {
+		return id;
+	}
+
+	/**
+	* @return the cost from start of the vertex
+	*/
+	int getCost() {
+		return cost;
+	}
+
+	/**
+	* @return a copy of this node
+	*/
+	public SearchNode cloneIt() {
+		return new SearchNode(id, cost);
+	}
+
+	/**
+	* updates the cost from start of the vertex
+	* @param the new cost
+	*/
+	public void updatePriority(int priority) {
+		cost = priority;
+	}
+
+	/**
+	* @return the cost from start of the vertex
+	*/
+	public int getPriority() {
+		return cost;
+	}
+
+	/**
+	* @return a positive int if this node is costlier from start than other,
+	* negative if it is cheaper, and 0 if they cost the same. Costs are
+	* nonnegative, so the difference cannot overflow.
+	*/
+	public int compareTo(SearchNode other) {
+		return cost - other.cost;
+	}
+
+	/**
+	* @return the id, which is unique to the vertex
+	*/
+	public int hashCode() {
+		return id;
+	}
+
+	/**
+	* @return true if obj is a SearchNode for the same vertex
+	*/
+	public boolean equals(Object obj) {
+		return obj instanceof SearchNode && ((SearchNode) obj).id == id;
+	}
+}
@@ -0,0 +1,316 @@
+import java.util.*;
+import java.io.*;
+import java.net.*;
+/**
+* Minerva Chen, Max Peterson
+* 10/19/2026
+* ShardCoordinator
+*
+* Answers shortest path queries on a graph split across GraphShard processes.
+* A shortest path is a series of pieces inside single shards joined by edges
+* between shards, and every piece except the first and last runs between
+* boundary vertices (vertices with an edge to or from another shard). So the
+* coordinator keeps an overlay graph of just the boundary vertices, whose edges
+* are the edges between shards plus, for each shard, the cost between each pair
+* of its boundary vertices inside it. A query asks the start's shard for its
+* costs to that shard's boundary and the end's shard for the costs from its
+* boundary, then searches the overlay between the two.
+*/
+
+public class ShardCoordinator {
+	private static final int CONNECT_ATTEMPTS = 300; // 100 ms apart, while shards load
+	private final Map<String, Integer> ids; // label -> id in the whole graph
+	private final int numShards;
+	private final ShardConnection[] shards;
+	private final Map<String, Integer> boundaryIds; // label -> id in the overlay
+	private final Vertex[] boundary; // overlay id -> boundary vertex
+	private final Adjacency overlay;
+
+	/**
+	* connects to running shards and builds the overlay graph
+	* @param vertexFile file name of vertices, as given to the shards
+	* @param ports the local port of each shard, in shard order
+	* @throws IOException if a shard cannot be reached or fails
+	* @throws IllegalArgumentException if the edges between shards are not
+	* 	allowed in a MyGraph
+	*/
+	public ShardCoordinator(String vertexFile, int[] ports) throws IOException {
+		ids = GraphShard.readIds(vertexFile);
+		numShards = ports.length;
+		shards = new ShardConnection[numShards];
+		for (int i = 0; i < numShards; i++)
+			shards[i] = new ShardConnection(ports[i]);
+		// the boundary is every endpoint of an edge between shards
+		List<String[]> crossEdges = new ArrayList<String[]>();
+		List<Set<String>> shardBoundaries = new ArrayList<Set<String>>();
+		for (int i = 0; i < numShards; i++)
+			shardBoundaries.add(new LinkedHashSet<String>());
+		for (ShardConnection shard : shards)
+			for (String line : shard.request("CROSS")) {
+				String[] edge = line.split(" ");
+				crossEdges.add(edge);
+				shardBoundaries.get(shardOf(edge[0])).add(edge[0]);
+				shardBoundaries.get(shardOf(edge[1])).add(edge[1]);
+			}
+		boundaryIds = new HashMap<String, Integer>();
+		for (Set<String> labels : shardBoundaries)
+			for (String label : labels)
+				boundaryIds.put(label, boundaryIds.size());
+		boundary = new Vertex[boundaryIds.size()];
+		for (String label : boundaryIds.keySet())
+			boundary[boundaryIds.get(label)] = new Vertex(label);
+		List<String[]> overlayEdges = new ArrayList<String[]>(crossEdges);
+		for (int i = 0; i < numShards; i++) {
+			StringBuilder request = new StringBuilder("BOUNDARY");
+			for (String label : shardBoundaries.get(i))
+				request.append(' ').append(label);
+			for (String line : shards[i].request(request.toString()))
+				overlayEdges.add(line.split(" "));
+		}
+		int m = overlayEdges.size();
+		int[] sources = new int[m];
+		int[] targets = new int[m];
+		int[] weights = new int[m];
+		for (int i = 0; i < m; i++) {
+			sources[i] = boundaryIds.get(overlayEdges.get(i)[0]);
+			targets[i] = boundaryIds.get(overlayEdges.get(i)[1]);
+			weights[i] = Integer.parseInt(overlayEdges.get(i)[2]);
+		}
+		overlay = ArrayAdjacency.build(boundary.length, sources, targets, weights, m, boundary);
+	}
+
+	/**
+	* Returns the shortest path from start to end in the sharded graph, or null
+	* if there is no such path.
+	* @param start the starting vertex
+	* @param end the destination vertex
+	* @return a Path from start to end and its cost, or null if end is not
+	* 	reachable from start
+	* @throws NoSuchElementException if start or end does not exist.
+	* @throws IOException if a shard fails
+	*/
+	public Path shortestPath(Vertex start, Vertex end) throws IOException {
+		String a = start.getLabel();
+		String b = end.getLabel();
+		ShardConnection first = shards[shardOf(a)];
+		ShardConnection last = shards[shardOf(b)];
+		int n = boundary.length;
+		// cost from start to each boundary vertex of its shard, and from each
+		// boundary vertex of end's shard to end, both inside the shard
+		List<String> fromStart = first.request("FROM " + a + " " + b);
+		int best = Integer.parseInt(fromStart.get(0)); // inside the shard, or -1
+		int[] costs = new int[n];
+		int[] prev = new int[n];
+		Arrays.fill(costs, Integer.MAX_VALUE);
+		Arrays.fill(prev, -1);
+		int[] toEnd = new int[n];
+		Arrays.fill(toEnd, Integer.MAX_VALUE);
+		for (String line : last.request("TO " + b)) {
+			String[] entry = line.split(" ");
+			toEnd[boundaryIds.get(entry[0])] = Integer.parseInt(entry[1]);
+		}
+		// Dijkstra over the overlay from all of start's boundary at once
+		DHeap<SearchNode> pq = new DHeap<SearchNode>(2);
+		for (String line : fromStart.subList(1, fromStart.size())) {
+			String[] entry = line.split(" ");
+			int v = boundaryIds.get(entry[0]);
+			costs[v] = Integer.parseInt(entry[1]);
+			pq.insert(new SearchNode(v, costs[v]));
+		}
+		int exit = -1; // last overlay vertex of the best path, or -1 if it stays in start's shard
+		boolean[] known = new boolean[n];
+		Adjacency.Cursor cursor = overlay.cursor();
+		while (!pq.isEmpty()) {
+			int current = pq.deleteMin().getId();
+			known[current] = true;
+			if (best >= 0 && costs[current] >= best)
+				break; // nothing left can lead to a cheaper path
+			if (toEnd[current] != Integer.MAX_VALUE
+					&& (best < 0 || costs[current] + toEnd[current] < best)) {
+				best = costs[current] + toEnd[current];
+				exit = current;
+			}
+			for (cursor.reset(current); cursor.next(); ) {
+				int target = cursor.target();
+				int cost = costs[current] + cursor.weight();
+				if (known[target] || cost >= costs[target])
+					continue;
+				if (costs[target] == Integer.MAX_VALUE)
+					pq.insert(new SearchNode(target, cost));
+				else
+					pq.decreaseKey(new SearchNode(target, 0), cost);
+				costs[target] = cost;
+				prev[target] = current;
+			}
+		}
+		if (best < 0)
+			return null;
+		if (exit < 0)
+			return new Path(piece(first, a, b), best);
+		// expand the overlay path back into pieces inside shards
+		List<Integer> route = new ArrayList<Integer>();
+		for (int v = exit; v != -1; v = prev[v])
+			route.add(0, v);
+		List<Vertex> vertices = piece(first, a, boundary[route.get(0)].getLabel());
+		for (int i = 1; i < route.size(); i++) {
+			String from = boundary[route.get(i - 1)].getLabel();
+			String to = boundary[route.get(i)].getLabel();
+			if (shardOf(from) == shardOf(to))
+				append(vertices, piece(shards[shardOf(from)], from, to));
+			else
+				vertices.add(boundary[route.get(i)]);
+		}
+		append(vertices, piece(last, boundary[exit].getLabel(), b));
+		return new Path(vertices, best);
+	}
+
+	/**
+	* @return the vertices of the cheapest path from a to b inside shard
+	* @throws IOException if the shard fails or has no such path, though its
+	* 	costs said it had one
+	*/
+	private List<Vertex> piece(ShardConnection shard, String a, String b) throws IOException {
+		List<String> answer = shard.request("PATH " + a + " " + b);
+		if (answer.isEmpty() || answer.get(0).isEmpty())
+			throw new IOException("shard has no path from " + a + " to " + b
+					+ " though its costs showed one");
+		List<Vertex> vertices = new ArrayList<Vertex>();
+		for (String label : answer.get(0).split(" "))
+			vertices.add(new Vertex(label));
+		return vertices;
+	}
+
+	/**
+	* adds the vertices of piece after its first, which is already the last of path
+	*/
+	private static void append(List<Vertex> path, List<Vertex> piece) {
+		path.addAll(piece.subList(1, piece.size()));
+	}
+
+	/**
+	* @return the shard of the vertex with label
+	* @throws NoSuchElementException if there is no such vertex
+	*/
+	private int shardOf(String label) {
+		Integer id = ids.get(label);
+		if (id == null)
+			throw new NoSuchElementException("vertex " + label + " not in graph");
+		return GraphShard.shardOf(id, ids.size(), numShards);
+	}
+
+	/**
+	* tells every shard to quit and closes the connections
+	*/
+	public void close() throws IOException {
+		for (ShardConnection shard : shards)
+			shard.quit();
+	}
+
+	/**
+	* A request/response connection to one shard.
+	*/
+	private static class ShardConnection {
+		private final Socket socket;
+		private final BufferedReader in;
+		private final PrintWriter out;
+
+		/**
+		* connects to the shard at port, waiting for it to start listening
+		*/
+		ShardConnection(int port) throws IOException {
+			Socket socket = null;
+			for (int attempt = 0; socket == null; attempt++) {
+				try {
+					socket = new Socket(InetAddress.getLoopbackAddress(), port);
+				} catch (ConnectException e) {
+					if (attempt == CONNECT_ATTEMPTS)
+						throw e;
+					try {
+						Thread.sleep(100);
+					} catch (InterruptedException e2) {
+						Thread.currentThread().interrupt();
+						throw new InterruptedIOException("interrupted while connecting to shard");
+					}
+				}
+			}
+			this.socket = socket;
+			in = new BufferedReader(new InputStreamReader(socket.getInputStream()));
+			out = new PrintWriter(new BufferedWriter(new OutputStreamWriter(socket.getOutputStream())));
+		}
+
+		/**
+		* @return the lines of the shard's answer to request, not including END
+		* @throws IOException if the connection fails or the shard reports an error
+		*/
+		synchronized List<String> request(String request) throws IOException {
+			out.println(request);
+			out.flush();
+			List<String> lines = new ArrayList<String>();
+			String line;
+			while (!(line = in.readLine()).equals("END")) {
+				if (line.startsWith("ERROR "))
+					throw new IOException("shard failed on " + request + ": " + line.substring(6));
+				lines.add(line);
+			}
+			return lines;
+		}
+
+		synchronized void quit() throws IOException {
+			out.println("QUIT");
+			out.flush();
+			socket.close();
+		}
+	}
+
+	/**
+	* Starts numShards GraphShard processes on consecutive local ports, then
+	* answers queries from System.in in the format of FindPaths -batch.
+	*/
+	public static void main(String[] args) {
+		if (args.length < 3 || args.length > 4) {
+			System.err.println("USAGE: java ShardCoordinator <vertex_file> <edge_file> <num_shards> [base_port]");
+			System.exit(1);
+		}
+		int numShards = Integer.parseInt(args[2]);
+		int basePort = args.length == 4 ? Integer.parseInt(args[3]) : 7400;
+		String java = System.getProperty("java.home") + File.separator + "bin" + File.separator + "java";
+		List<Process> processes = new ArrayList<Process>();
+		int[] ports = new int[numShards];
+		try {
+			for (int i = 0; i < numShards; i++) {
+				ports[i] = basePort + i;
+				processes.add(new ProcessBuilder(java, "-cp", System.getProperty("java.class.path"),
+						"GraphShard", args[0], args[1], args[2], Integer.toString(i),
+						Integer.toString(ports[i]))
+						.redirectOutput(ProcessBuilder.Redirect.INHERIT)
+						.redirectError(ProcessBuilder.Redirect.INHERIT).start());
+			}
+			ShardCoordinator coordinator = new ShardCoordinator(args[0], ports);
+			BufferedReader in = new BufferedReader(new InputStreamReader(System.in));
+			PrintWriter out = new PrintWriter(new BufferedWriter(new OutputStreamWriter(System.out)));
+			String line;
+			while ((line = in.readLine()) != null) {
+				String[] query = line.trim().split("\\s+");
+				if (query.length != 2)
+					continue;
+				Path path = null;
+				try {
+					path = coordinator.shortestPath(new Vertex(query[0]), new Vertex(query[1]));
+				} catch (NoSuchElementException e) { // reported like a missing path
+				}
+				out.print(query[0] + "\t" + query[1] + "\t" + (path == null ? -1 : path.cost) + "\t");
+				if (path != null)
+					path.write(out);
+				out.println();
+			}
+			out.flush();
+			coordinator.close();
+		} catch (IOException e) {
+			System.err.println("I/O ERROR: " + e.getMessage());
+			System.exit(2);
+		} finally {
+			for (Process process : processes)
+				process.destroy();
+		}
+	}
+}
@@ -0,0 +1,68 @@
+/**
+* Minerva Chen, Max Peterson
+* 10/19/2026
+* ShortestPathTree
+*
+* The result of a single-source shortest path search: the cost of reaching each
+* vertex from the start and the previous vertex on each of those paths.
+* Lets many destinations that share a start be answered from one search.
+*/
+
+public class ShortestPathTree {
+	private final MyGraph graph;
+	private final int start; // id of the start vertex
+	private final int[] costs; // id -> cost from start, Integer.MAX_VALUE if unreachable
+	private final int[] prev; // id -> id of the previous vertex on its shortest path, or -1
+
+	/**
+	* @param graph the graph that was searched
+	* @param start the id of the vertex the search started from
+	* @param costs the cost from start of each vertex, by id
+	* @param prev the id of the previous vertex on the shortest path to each
+	* 	vertex, by id, or -1
+	*/
+	ShortestPathTree(MyGraph graph, int start, int[] costs, int[] prev) {
+		this.graph = graph;
+		this.start = start;
+		this.costs = costs;
+		this.prev = prev;
+	}
+
+	/**
+	* @return the vertex the search started from
+	*/
+	public Vertex getStart() {
+		return graph.getVertex(start);
+	}
+
+	/**
+	* @param end a vertex
+	* @return the cost of the shortest path from start to end, or -1 if end is
+	* 	not reachable from start
+	* @throws NoSuchElementException if end does not exist.
+	*/
+	public int cost(Vertex end) {
+		int cost = costs[graph.getId(end)];
+		return cost == Integer.MAX_VALUE ? -1 : cost;
+	}
+
+	/**
+	* @param end a vertex
+	* @return Path is the shortest path from start to end
+	* return null if no path from start to end exists
+	* @throws NoSuchElementException if end does not exist.
+	*/
+	public Path pathTo(Vertex end) {
+		return pathTo(graph.getId(end));
+	}
+
+	/**
+	* @param end the id of a vertex
+	* @return the shortest path from start to end, or null if there is none
+	*/
+	Path pathTo(int end) {
+		if (costs[end] == Integer.MAX_VALUE)
+			return null;
+		return graph.getBackpointPath(prev, start, end, costs[end]);
+	}
+}
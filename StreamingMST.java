@@ -0,0 +1,184 @@
+import java.util.*;
+import java.io.*;
+/**
+* Minerva Chen, Max Peterson
+* 10/19/2026
+* StreamingMST
+*
+* Finds a minimum spanning tree from a stream of edges without holding them
+* all. Keeps only the vertices, the cheapest forest found so far (at most
+* V - 1 edges) and a buffer of new edges. Whenever the buffer fills, Kruskal's
+* algorithm runs over the forest and the buffer together and keeps only the
+* new forest: an edge left out of the minimum spanning forest of some of the
+* edges is the most expensive edge of a cycle, so it cannot be in the minimum
+* spanning forest of all of them. Memory is O(V + buffer size) however many
+* edges go by. Like MyGraph.getMST, treats every edge as undirected.
+* Edges are checked one at a time, so two edges between the same vertices
+* with different weights are not rejected the way MyGraph rejects them.
+*/
+
+public class StreamingMST {
+	private final Vertex[] vertexArray; // id -> vertex
+	private final Map<Vertex, Integer> ids; // vertex -> id
+	private final int capacity; // forest edges plus buffered edges held at most
+	private final int[] sources;
+	private final int[] targets;
+	private final int[] weights;
+	private int forestSize; // entries 0 to forestSize - 1 are the forest
+	private int size; // entries forestSize to size - 1 are the buffer
+	private long edgesSeen;
+
+	/**
+	* @param vertices the vertices of the graph
+	* @param bufferSize the most new edges to hold between compactions. Each
+	* 	compaction takes O(V + bufferSize) time plus sorting, so a buffer of at
+	* 	least V edges keeps the total near O(E log E).
+	* @throws IllegalArgumentException if vertices is null or bufferSize is not positive
+	*/
+	public StreamingMST(Collection<Vertex> vertices, int bufferSize) {
+		if (vertices == null)
+			throw new IllegalArgumentException("vertices must not be null");
+		if (bufferSize < 1)
+			throw new IllegalArgumentException("buffer size must be positive, not " + bufferSize);
+		ids = new HashMap<Vertex, Integer>();
+		List<Vertex> ordered = new ArrayList<Vertex>();
+		for (Vertex vertex : vertices)
+			if (!ids.containsKey(vertex)) {
+				ids.put(vertex, ordered.size());
+				ordered.add(vertex);
+			}
+		vertexArray = ordered.toArray(new Vertex[ordered.size()]);
+		capacity = Math.max(vertexArray.length - 1, 0) + bufferSize;
+		sources = new int[capacity];
+		targets = new int[capacity];
+		weights = new int[capacity];
+	}
+
+	/**
+	* adds one edge of the stream
+	* @param edge the edge
+	* @throws IllegalArgumentException if edge has negative weight or links to
+	* 	or from a vertex not given to the constructor
+	*/
+	public void add(Edge edge) {
+		Integer source = ids.get(edge.getSource());
+		Integer target = ids.get(edge.getDestination());
+		if (source == null || target == null)
+			throw new IllegalArgumentException(edge + " either comes from or goes to " +
+					"a nonexistent vertex");
+		if (edge.getWeight() < 0)
+			throw new IllegalArgumentException(edge + " has negative weight; not allowed");
+		if (size == capacity)
+			compact();
+		sources[size] = source;
+		targets[size] = target;
+		weights[size] = edge.getWeight();
+		size++;
+		edgesSeen++;
+	}
+
+	/**
+	* @return the number of edges added so far
+	*/
+	public long edgesSeen() {
+		return edgesSeen;
+	}
+
+	/**
+	* Finishes the stream.
+	* @return an unsorted set of the edges in an MST of all the edges added,
+	* 	or null if they do not connect every vertex
+	*/
+	public Set<Edge> finish() {
+		compact();
+		if (forestSize < vertexArray.length - 1)
+			return null;
+		Set<Edge> mst = new HashSet<Edge>();
+		for (int i = 0; i < forestSize; i++)
+			mst.add(new Edge(vertexArray[sources[i]], vertexArray[targets[i]], weights[i]));
+		return mst;
+	}
+
+	/**
+	* Kruskal's algorithm over the forest and the buffer, keeping the new
+	* forest at the front of the arrays and emptying the buffer
+	*/
+	private void compact() {
+		long[] byWeight = new long[size]; // weight and index packed together
+		for (int i = 0; i < size; i++)
+			byWeight[i] = (long) weights[i] << 32 | i;
+		Arrays.sort(byWeight);
+		DisjointSets sets = new MyDisjSets(vertexArray.length);
+		boolean[] kept = new boolean[size];
+		int numKept = 0;
+		for (int k = 0; k < size && numKept < vertexArray.length - 1; k++) {
+			int i = (int) byWeight[k];
+			int a = sets.find(sources[i]);
+			int b = sets.find(targets[i]);
+			if (a != b) {
+				sets.union(a, b);
+				kept[i] = true;
+				numKept++;
+			}
+		}
+		forestSize = 0;
+		for (int i = 0; i < size; i++)
+			if (kept[i]) {
+				sources[forestSize] = sources[i];
+				targets[forestSize] = targets[i];
+				weights[forestSize] = weights[i];
+				forestSize++;
+			}
+		size = forestSize;
+	}
+
+	/**
+	* @param vertices the vertices of the graph
+	* @param edges the edges of the graph, each used once
+	* @param bufferSize the most new edges to hold between compactions
+	* @return an unsorted set of the edges in an MST, or null if no MST exists
+	* @throws IllegalArgumentException if an edge has negative weight or links
+	* 	to or from a vertex not in vertices, or bufferSize is not positive
+	*/
+	public static Set<Edge> mst(Collection<Vertex> vertices, Iterator<Edge> edges, int bufferSize) {
+		StreamingMST stream = new StreamingMST(vertices, bufferSize);
+		while (edges.hasNext())
+			stream.add(edges.next());
+		return stream.finish();
+	}
+
+	/**
+	* Finds an MST of the edges in an edge file (in the format read by
+	* FindPaths) as they are read, without holding the whole file.
+	* @param vertices the vertices of the graph
+	* @param edgeFile the name of the edge file
+	* @param bufferSize the most new edges to hold between compactions
+	* @return an unsorted set of the edges in an MST, or null if no MST exists
+	* @throws IOException if the file cannot be read or is not in the right format
+	* @throws IllegalArgumentException if an edge has negative weight or links
+	* 	to or from a vertex not in vertices, or bufferSize is not positive
+	*/
+	public static Set<Edge> mst(Collection<Vertex> vertices, String edgeFile, int bufferSize)
+			throws IOException {
+		StreamingMST stream = new StreamingMST(vertices, bufferSize);
+		Scanner s = new Scanner(new BufferedReader(new FileReader(edgeFile), 1 << 16));
+		try {
+			while (s.hasNext()) {
+				try {
+					Vertex a = new Vertex(s.next());
+					Vertex b = new Vertex(s.next());
+					int w = s.nextInt();
+					stream.add(new Edge(a, b, w));
+				} catch (NoSuchElementException e) {
+					throw new IOException("edge file format incorrect after "
+							+ stream.edgesSeen() + " edges");
+				}
+			}
+			if (s.ioException() != null)
+				throw s.ioException();
+		} finally {
+			s.close();
+		}
+		return stream.finish();
+	}
+}
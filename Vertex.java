@@ -49,6 +49,13 @@ public class Vertex implements Dijkstrable<Vertex> {
 		costFromStart = priority;
 	}
 
+	/**
+	* @return the cost from a predefined start vertex to this vertex
+	*/
+	public int getPriority() {
+		return costFromStart;
+	}
+
 	/**
 	* @return the distance from a predefined start vertex
 	*/
@@ -0,0 +1,114 @@
+import java.util.Arrays;
+/**
+* Minerva Chen, Max Peterson
+* 10/19/2026
+* VertexOrder
+*
+* Ways to renumber the vertices of a graph so that vertices near each other
+* in the graph get ids near each other, and so sit near each other in the
+* arrays a search walks. Edge directions are ignored when deciding nearness.
+*/
+
+public enum VertexOrder {
+	/** breadth-first from the lowest numbered vertex of each weak component */
+	BREADTH_FIRST {
+		int[] order(Adjacency out, Adjacency in) {
+			int n = out.numVertices();
+			int[] order = new int[n];
+			boolean[] placed = new boolean[n];
+			int size = 0;
+			for (int root = 0; root < n; root++)
+				if (!placed[root])
+					size = visit(root, out, in, order, size, placed, null);
+			return order;
+		}
+	},
+
+	/**
+	* reverse Cuthill-McKee: breadth-first from a vertex of least degree in each
+	* weak component, taking each vertex's neighbors in increasing order of
+	* degree, and then reversed; keeps every edge's two ids close together
+	*/
+	REVERSE_CUTHILL_MCKEE {
+		int[] order(Adjacency out, Adjacency in) {
+			int n = out.numVertices();
+			int[] degrees = new int[n];
+			for (int v = 0; v < n; v++)
+				degrees[v] = out.degree(v) + in.degree(v);
+			long[] byDegree = new long[n];
+			for (int v = 0; v < n; v++)
+				byDegree[v] = (long) degrees[v] << 32 | v;
+			Arrays.sort(byDegree);
+			int[] order = new int[n];
+			boolean[] placed = new boolean[n];
+			int size = 0;
+			for (long entry : byDegree) {
+				int root = (int) entry;
+				if (!placed[root])
+					size = visit(root, out, in, order, size, placed, degrees);
+			}
+			for (int i = 0, j = n - 1; i < j; i++, j--) {
+				int temp = order[i];
+				order[i] = order[j];
+				order[j] = temp;
+			}
+			return order;
+		}
+	};
+
+	/**
+	* @param out the edges of a graph
+	* @param in the same edges reversed
+	* @return the ids of the graph's vertices in their new order, so that the
+	* 	vertex with id order[i] gets id i
+	*/
+	abstract int[] order(Adjacency out, Adjacency in);
+
+	/**
+	* Appends the weak component of root to order, breadth-first. order itself
+	* is the queue.
+	* @param placed which vertices are already in order; updated
+	* @param degrees if not null, each vertex's new neighbors are taken in
+	* 	increasing order of degree instead of id
+	* @return the new size of order
+	*/
+	private static int visit(int root, Adjacency out, Adjacency in, int[] order, int size,
+			boolean[] placed, int[] degrees) {
+		Adjacency.Cursor outCursor = out.cursor();
+		Adjacency.Cursor inCursor = in.cursor();
+		long[] scratch = degrees == null ? null : new long[16];
+		placed[root] = true;
+		order[size++] = root;
+		for (int head = size - 1; head < size; head++) {
+			int v = order[head];
+			int first = size;
+			for (outCursor.reset(v); outCursor.next(); )
+				size = place(outCursor.target(), order, size, placed);
+			for (inCursor.reset(v); inCursor.next(); )
+				size = place(inCursor.target(), order, size, placed);
+			if (degrees != null && size - first > 1) {
+				if (scratch.length < size - first)
+					scratch = new long[Math.max(size - first, 2 * scratch.length)];
+				for (int i = first; i < size; i++)
+					scratch[i - first] = (long) degrees[order[i]] << 32 | order[i];
+				Arrays.sort(scratch, 0, size - first);
+				for (int i = first; i < size; i++)
+					order[i] = (int) scratch[i - first];
+			} else if (degrees == null && size - first > 1)
+				Arrays.sort(order, first, size); // out- and in-neighbors are each sorted, but not together
+		}
+		return size;
+	}
+
+	/**
+	* appends v to order unless it is already placed
+	* @return the new size of order
+	*/
+	private static int place(int v, int[] order, int size, boolean[] placed) {
+		if (!placed[v]) {
+			placed[v] = true;
+			order[size++] = v;
+		}
+		return size;
+	}
+}
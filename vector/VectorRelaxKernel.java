@@ -0,0 +1,51 @@
+import jdk.incubator.vector.*;
+/**
+* Minerva Chen, Max Peterson
+* 10/19/2026
+* VectorRelaxKernel
+*
+* A RelaxKernel that compares as many edges per instruction as the widest
+* int vector the processor has: it loads the weights, adds the source's cost,
+* gathers the targets' costs by index and compares. Most comparisons in a
+* search find nothing cheaper, so lanes that did are stored one at a time
+* rather than scattered, which only pays on processors with a scatter
+* instruction. Runs of a few vectors or less, and the tail of each run, are
+* done one edge at a time.
+* Needs jdk.incubator.vector, so it is kept out of the main build; RelaxKernel
+* explains how to compile and use it. Never referred to by name, so the rest
+* of the code compiles and runs without it.
+*/
+
+final class VectorRelaxKernel extends RelaxKernel {
+	private static final VectorSpecies<Integer> SPECIES = IntVector.SPECIES_PREFERRED;
+	private static final int MIN_RUN = 4 * SPECIES.length(); // shorter runs are faster one at a time
+
+	String getName() {
+		return "vector (" + SPECIES.length() + " lanes)";
+	}
+
+	int relax(int[] targets, int[] weights, int from, int to, int cost, int[] costs,
+			int[] improved) {
+		int count = 0;
+		int i = from;
+		int vectorEnd = to - from < MIN_RUN ? from : from + SPECIES.loopBound(to - from);
+		for (; i < vectorEnd; i += SPECIES.length()) {
+			IntVector newCosts = IntVector.fromArray(SPECIES, weights, i).add(cost);
+			IntVector oldCosts = IntVector.fromArray(SPECIES, costs, 0, targets, i);
+			long cheaper = newCosts.compare(VectorOperators.LT, oldCosts).toLong();
+			for (; cheaper != 0; cheaper &= cheaper - 1) {
+				int j = i + Long.numberOfTrailingZeros(cheaper);
+				costs[targets[j]] = cost + weights[j];
+				improved[count++] = targets[j];
+			}
+		}
+		for (; i < to; i++) {
+			int newCost = cost + weights[i];
+			if (newCost < costs[targets[i]]) {
+				costs[targets[i]] = newCost;
+				improved[count++] = targets[i];
+			}
+		}
+		return count;
+	}
+}